@@ -0,0 +1,73 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH que compara el throughput de requests con I/O bloqueante (verificación en
+ * Firebase, envío de emails, publicación en RabbitMQ) atendidos por un pool de threads de
+ * plataforma del tamaño del de Tomcat contra threads virtuales.
+ * Cada operación atiende una ráfaga de requests que bloquean latencyMs milisegundos.
+ * El modo "virtual" requiere ejecutar con Java 21 (perfil java21); en Java 17 falla en el setup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlockingIoBenchmark {
+
+    /** Tamaño máximo por defecto del pool de Tomcat. */
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"1000"})
+    public int requests;
+
+    @Param({"20"})
+    public long latencyMs;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() throws Exception {
+        if ("virtual".equals(mode)) {
+            // Invocado por reflexión para que los benchmarks compilen también con Java 17
+            executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } else {
+            executor = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int blockingRequests() throws Exception {
+        List<Future<Integer>> futures = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            int request = i;
+            futures.add(executor.submit(() -> {
+                Thread.sleep(latencyMs);
+                return request;
+            }));
+        }
+        int completed = 0;
+        for (Future<Integer> future : futures) {
+            future.get();
+            completed++;
+        }
+        return completed;
+    }
+}
@@ -0,0 +1,70 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.benchmark;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.JwtAuthenticationFilter;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.JwtService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.JwtSigningKeys;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.SecurityConstants;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.UserRevocationRegistry;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.VerifiedTokenCache;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.UserActivityTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH del camino completo de JwtAuthenticationFilter sobre requests simulados.
+ * Mide un request autenticado con un token reutilizado (caso típico detrás del gateway)
+ * y uno sin token, que solo atraviesa el filtro.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest authenticatedRequest;
+    private MockHttpServletRequest anonymousRequest;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService(JwtSigningKeys.hmac());
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(jwtService, new SimpleMeterRegistry(), 10000);
+        // Sin repositorio: el benchmark nunca ejecuta el flush programado ni la carga inicial
+        UserActivityTracker userActivityTracker = new UserActivityTracker(null, 5, 500);
+        UserRevocationRegistry userRevocationRegistry = new UserRevocationRegistry(null);
+        userRevocationRegistry.revoke("revocado@pinceletas.com");
+        filter = new JwtAuthenticationFilter(verifiedTokenCache, userActivityTracker, userRevocationRegistry);
+
+        String token = jwtService.generateToken("benchmark@pinceletas.com", "USER");
+        authenticatedRequest = new MockHttpServletRequest("GET", "/api/users/profile/benchmark@pinceletas.com");
+        authenticatedRequest.addHeader(SecurityConstants.JWT_HEADER, SecurityConstants.JWT_PREFIX + token);
+        anonymousRequest = new MockHttpServletRequest("GET", "/api/users/profile/benchmark@pinceletas.com");
+        response = new MockHttpServletResponse();
+        chain = (request, servletResponse) -> { };
+    }
+
+    @Benchmark
+    public void authenticatedRequest(Blackhole blackhole) throws Exception {
+        filter.doFilter(authenticatedRequest, response, chain);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void anonymousRequest(Blackhole blackhole) throws Exception {
+        filter.doFilter(anonymousRequest, response, chain);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+}
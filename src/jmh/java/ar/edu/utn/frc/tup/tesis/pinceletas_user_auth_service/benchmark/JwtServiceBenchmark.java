@@ -0,0 +1,54 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.benchmark;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.JwtService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.JwtSigningKeys;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.TokenVerificationResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de las operaciones de emisión y verificación de tokens de JwtService.
+ * Ejecutar con el perfil "benchmark" (ver pom.xml); el profiler gc reporta la tasa
+ * de asignación por operación junto al throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(JwtSigningKeys.hmac());
+        token = jwtService.generateToken("benchmark@pinceletas.com", "USER");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken("benchmark@pinceletas.com", "USER");
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token);
+    }
+
+    @Benchmark
+    public TokenVerificationResult verify() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public void extractClaimsPerField(Blackhole blackhole) {
+        blackhole.consume(jwtService.extractUsername(token));
+        blackhole.consume(jwtService.extractRole(token));
+        blackhole.consume(jwtService.getExpirationDate(token));
+    }
+}
@@ -2,6 +2,7 @@ package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
@@ -14,16 +15,21 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @EnableScheduling
 public class PinceletasUserAuthServiceApplication {
 
+	/** Cantidad máxima de pasos de arranque registrados para /actuator/startup. */
+	private static final int STARTUP_BUFFER_CAPACITY = 4096;
+
 	/**
 	 * Método principal que inicia la aplicación Spring Boot.
 	 * Configura y lanza el servidor embebido con toda la configuración de autenticación y seguridad.
 	 * Inicializa todos los beans, configuraciones y servicios definidos en la aplicación.
+	 * Registra los pasos del arranque para consultarlos en /actuator/startup.
 	 *
 	 * @param args Argumentos de línea de comandos para configuración adicional de Spring Boot.
 	 */
 	public static void main(String[] args) {
-
-		SpringApplication.run(PinceletasUserAuthServiceApplication.class, args);
+		SpringApplication application = new SpringApplication(PinceletasUserAuthServiceApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_BUFFER_CAPACITY));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,366 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit.events.NotificacionEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publicador asíncrono de notificaciones en RabbitMQ.
+ * Los eventos se encolan en memoria en una cola acotada y un thread en segundo plano los
+ * publica, de modo que la latencia (o la caída) del broker no se suma a la del login.
+ * Cuando la cola está llena se aplica la política de desborde configurada. Al detener la
+ * aplicación se dejan de aceptar eventos y se publican los pendientes hasta el timeout.
+ * En modo BATCH los eventos se agrupan por tamaño o ventana de tiempo y cada lote se publica
+ * con publisher confirms correlados, esperando las confirmaciones una sola vez por lote y
+ * reintentando solo los eventos rechazados o sin confirmar.
+ * Publica métricas bajo el prefijo "notificaciones.publisher".
+ */
+@Component
+public class AsyncNotificacionPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncNotificacionPublisher.class);
+
+    /** Espera máxima de cada lectura de la cola, para revisar si hay que detenerse. */
+    private static final long POLL_INTERVAL_MS = 200;
+
+    /**
+     * Política aplicada cuando la cola está llena.
+     */
+    public enum OverflowPolicy {
+        /** Se descarta el evento nuevo. */
+        DROP_NEWEST,
+        /** Se descarta el evento más antiguo de la cola para encolar el nuevo. */
+        DROP_OLDEST
+    }
+
+    /**
+     * Modo de publicación de los eventos encolados.
+     */
+    public enum PublishMode {
+        /** Cada evento se publica individualmente, sin esperar confirmación del broker. */
+        SINGLE,
+        /** Los eventos se publican por lotes con publisher confirms y reintento de los rechazados. */
+        BATCH
+    }
+
+    private final RabbitTemplate rabbitTemplate;
+
+    private final String exchange;
+
+    private final String routingKey;
+
+    private final BlockingQueue<NotificacionEvent> queue;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final long shutdownTimeoutMs;
+
+    private final PublishMode publishMode;
+
+    private final int batchSize;
+
+    private final long batchWindowMs;
+
+    private final long confirmTimeoutMs;
+
+    private final int maxRetries;
+
+    private final Counter published;
+
+    private final Counter dropped;
+
+    private final Counter failed;
+
+    private final Counter retried;
+
+    /** Latencia de publicación: hasta la confirmación del lote en modo BATCH. */
+    private final Timer latency;
+
+    private final DistributionSummary batchSizes;
+
+    /** Indica si se aceptan eventos nuevos; se desactiva al detener la aplicación. */
+    private volatile boolean accepting = true;
+
+    private Thread worker;
+
+    /**
+     * Crea un publicador en modo SINGLE.
+     */
+    public AsyncNotificacionPublisher(RabbitTemplate rabbitTemplate,
+                                      MeterRegistry meterRegistry,
+                                      String exchange,
+                                      String routingKey,
+                                      int queueCapacity,
+                                      OverflowPolicy overflowPolicy,
+                                      long shutdownTimeoutMs) {
+        this(rabbitTemplate, meterRegistry, exchange, routingKey, queueCapacity, overflowPolicy, shutdownTimeoutMs,
+                PublishMode.SINGLE, 1, 0, 0, 0);
+    }
+
+    @Autowired
+    public AsyncNotificacionPublisher(RabbitTemplate rabbitTemplate,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.rabbitmq.exchange:notificaciones.exchange}") String exchange,
+                                      @Value("${app.rabbitmq.routing-key:notificaciones.key}") String routingKey,
+                                      @Value("${app.rabbitmq.notifications.queue-capacity:1000}") int queueCapacity,
+                                      @Value("${app.rabbitmq.notifications.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+                                      @Value("${app.rabbitmq.notifications.shutdown-timeout-ms:5000}") long shutdownTimeoutMs,
+                                      @Value("${app.rabbitmq.notifications.publish-mode:SINGLE}") PublishMode publishMode,
+                                      @Value("${app.rabbitmq.notifications.batch.size:50}") int batchSize,
+                                      @Value("${app.rabbitmq.notifications.batch.window-ms:50}") long batchWindowMs,
+                                      @Value("${app.rabbitmq.notifications.batch.confirm-timeout-ms:5000}") long confirmTimeoutMs,
+                                      @Value("${app.rabbitmq.notifications.batch.max-retries:3}") int maxRetries) {
+        if (publishMode == PublishMode.BATCH && batchSize < 1) {
+            throw new IllegalStateException("El tamaño de lote de notificaciones debe ser mayor a cero");
+        }
+        this.rabbitTemplate = rabbitTemplate;
+        this.exchange = exchange;
+        this.routingKey = routingKey;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.overflowPolicy = overflowPolicy;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.publishMode = publishMode;
+        this.batchSize = batchSize;
+        this.batchWindowMs = batchWindowMs;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.maxRetries = maxRetries;
+        this.published = meterRegistry.counter("notificaciones.publisher.published");
+        this.dropped = meterRegistry.counter("notificaciones.publisher.dropped");
+        this.failed = meterRegistry.counter("notificaciones.publisher.failed");
+        this.retried = meterRegistry.counter("notificaciones.publisher.retried");
+        this.latency = Timer.builder("notificaciones.publisher.latency")
+                .description("Latencia de publicación de notificaciones (hasta la confirmación en modo BATCH)")
+                .tag("mode", publishMode.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("notificaciones.publisher.batch.size")
+                .description("Eventos publicados por lote")
+                .register(meterRegistry);
+        meterRegistry.gauge("notificaciones.publisher.queue.size", queue, BlockingQueue::size);
+    }
+
+    /**
+     * Inicia el thread que publica los eventos encolados.
+     */
+    @PostConstruct
+    public void start() {
+        worker = new Thread(this::drainLoop, "notificaciones-publisher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Encola un evento para su publicación sin bloquear al llamador.
+     *
+     * @param evento Evento de notificación.
+     * @return true si el evento quedó encolado, false si se descartó.
+     */
+    public boolean enqueue(NotificacionEvent evento) {
+        if (!accepting) {
+            dropped.increment();
+            log.warn("Publicador de notificaciones detenido, se descarta el evento {}", evento.getTipo());
+            return false;
+        }
+        if (queue.offer(evento)) {
+            return true;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+            NotificacionEvent discarded = queue.poll();
+            if (discarded != null) {
+                dropped.increment();
+                log.warn("Cola de notificaciones llena, se descarta el evento más antiguo {}", discarded.getTipo());
+            }
+            if (queue.offer(evento)) {
+                return true;
+            }
+        }
+        dropped.increment();
+        log.warn("Cola de notificaciones llena, se descarta el evento {}", evento.getTipo());
+        return false;
+    }
+
+    /**
+     * Cantidad de eventos pendientes de publicar.
+     *
+     * @return Tamaño de la cola.
+     */
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * Deja de aceptar eventos y espera a que se publiquen los pendientes, como mucho
+     * shutdownTimeoutMs milisegundos.
+     */
+    @PreDestroy
+    public void shutdown() {
+        accepting = false;
+        if (worker == null) {
+            return;
+        }
+        try {
+            worker.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            worker.interrupt();
+            log.warn("Timeout al detener el publicador: {} notificaciones sin publicar", queue.size());
+        }
+    }
+
+    /**
+     * Publica los eventos de la cola hasta que se detenga la aplicación y la cola quede vacía.
+     */
+    private void drainLoop() {
+        while (accepting || !queue.isEmpty()) {
+            try {
+                NotificacionEvent evento = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (evento == null) {
+                    continue;
+                }
+                if (publishMode == PublishMode.BATCH) {
+                    publishBatch(collectBatch(evento));
+                } else {
+                    publish(evento);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void publish(NotificacionEvent evento) {
+        long start = System.nanoTime();
+        try {
+            log.debug("📤 Enviando a exchange: {}, routing-key: {}", exchange, routingKey);
+            rabbitTemplate.convertAndSend(exchange, routingKey, evento);
+            published.increment();
+        } catch (Exception e) {
+            failed.increment();
+            log.error("❌ Error enviando evento de notificacion {}: {}", evento.getTipo(), e.getMessage());
+        } finally {
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Arma un lote a partir del primer evento, hasta completar batchSize eventos o hasta que
+     * venza la ventana de agrupamiento, lo que ocurra primero.
+     */
+    private List<NotificacionEvent> collectBatch(NotificacionEvent first) throws InterruptedException {
+        List<NotificacionEvent> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        long windowEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchWindowMs);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = windowEnd - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            NotificacionEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    /**
+     * Publica un lote con publisher confirms y reintenta solo los eventos rechazados o sin
+     * confirmar, hasta maxRetries veces. Los que siguen sin confirmar se cuentan como fallidos.
+     */
+    private void publishBatch(List<NotificacionEvent> batch) {
+        long start = System.nanoTime();
+        batchSizes.record(batch.size());
+        List<NotificacionEvent> pending = publishAndConfirm(batch);
+        for (int attempt = 1; attempt <= maxRetries && !pending.isEmpty(); attempt++) {
+            retried.increment(pending.size());
+            log.warn("Reintentando {} notificaciones sin confirmar (intento {} de {})", pending.size(), attempt, maxRetries);
+            pending = publishAndConfirm(pending);
+        }
+        if (!pending.isEmpty()) {
+            failed.increment(pending.size());
+            log.error("❌ {} notificaciones sin confirmar por el broker tras {} reintentos", pending.size(), maxRetries);
+        }
+        latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Publica los eventos sin esperar entre envíos y luego espera todas las confirmaciones
+     * hasta un deadline común.
+     *
+     * @return Eventos rechazados, sin confirmar o no enviados.
+     */
+    private List<NotificacionEvent> publishAndConfirm(List<NotificacionEvent> batch) {
+        List<NotificacionEvent> sent = new ArrayList<>(batch.size());
+        List<CorrelationData> correlations = new ArrayList<>(batch.size());
+        List<NotificacionEvent> unconfirmed = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            NotificacionEvent evento = batch.get(i);
+            CorrelationData correlation = new CorrelationData(UUID.randomUUID().toString());
+            try {
+                rabbitTemplate.convertAndSend(exchange, routingKey, evento, correlation);
+                sent.add(evento);
+                correlations.add(correlation);
+            } catch (AmqpException e) {
+                // Con el broker caído el resto del lote fallaría igual
+                log.error("❌ Error enviando lote de notificaciones: {}", e.getMessage());
+                unconfirmed.addAll(batch.subList(i, batch.size()));
+                break;
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+        for (int i = 0; i < sent.size(); i++) {
+            if (awaitAck(correlations.get(i), deadline)) {
+                published.increment();
+            } else {
+                unconfirmed.add(sent.get(i));
+            }
+        }
+        return unconfirmed;
+    }
+
+    /**
+     * Espera la confirmación del broker hasta el deadline común del lote.
+     */
+    private boolean awaitAck(CorrelationData correlation, long deadline) {
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            CorrelationData.Confirm confirm = correlation.getFuture().get(remaining, TimeUnit.NANOSECONDS);
+            if (!confirm.isAck()) {
+                log.warn("Broker rechazó la notificación {}: {}", correlation.getId(), confirm.getReason());
+            }
+            return confirm.isAck();
+        } catch (TimeoutException | ExecutionException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,27 +1,34 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit;
 
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit.events.NotificacionEvent;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.model.NotificacionOutbox;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.repository.NotificacionOutboxRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
+/**
+ * Arma los eventos de notificación de la aplicación sin bloquear el request que los origina.
+ * Las notificaciones de registro e inicio de sesión con Firebase se escriben en el outbox
+ * dentro de la transacción del alta o actualización del usuario, y NotificacionOutboxRelay
+ * las publica con confirmación del broker. La de inicio de sesión tradicional, que no
+ * modifica el usuario, se entrega al publicador asíncrono en memoria.
+ */
 @Service
 public class NotificacionEventService {
 
     private static final Logger log = LoggerFactory.getLogger(NotificacionEventService.class);
 
-    private final RabbitTemplate rabbitTemplate;
-
-    @Value("${app.rabbitmq.exchange:notificaciones.exchange}")
-    private String exchange;
+    private final AsyncNotificacionPublisher asyncNotificacionPublisher;
 
-    @Value("${app.rabbitmq.routing-key:notificaciones.key}")
-    private String routingKey;
+    private final NotificacionOutboxRepository outboxRepository;
 
-    public NotificacionEventService(RabbitTemplate rabbitTemplate) {
-        this.rabbitTemplate = rabbitTemplate;
+    public NotificacionEventService(AsyncNotificacionPublisher asyncNotificacionPublisher,
+                                    NotificacionOutboxRepository outboxRepository) {
+        this.asyncNotificacionPublisher = asyncNotificacionPublisher;
+        this.outboxRepository = outboxRepository;
     }
 
     public void enviarNotificacionInicioSesion(String email, Long usuarioId, String nombreUsuario) {
@@ -52,8 +59,8 @@ public class NotificacionEventService {
                 "USER"
         );
 
-        enviarEvento(evento);
-        log.info("✅ Notificacion de INICIO SESIÓN FIREBASE enviada para USUARIO: {}", email);
+        registrarEnOutbox(evento);
+        log.info("✅ Notificacion de INICIO SESIÓN FIREBASE registrada para USUARIO: {}", email);
     }
 
     public void enviarNotificacionAdminInicioSesionFirebase(String email, Long usuarioId, String nombreUsuario) {
@@ -68,8 +75,8 @@ public class NotificacionEventService {
                 "ADMIN"
         );
 
-        enviarEvento(evento);
-        log.info("✅ Notificacion para ADMIN - INICIO SESIÓN FIREBASE enviada - usuario: {}", email);
+        registrarEnOutbox(evento);
+        log.info("✅ Notificacion para ADMIN - INICIO SESIÓN FIREBASE registrada - usuario: {}", email);
     }
 
     public void enviarNotificacionNuevoRegistro(String email, Long usuarioId, String nombreUsuario) {
@@ -84,8 +91,8 @@ public class NotificacionEventService {
                 "ADMIN"
         );
 
-        enviarEvento(evento);
-        log.info("✅ Notificacion de NUEVO REGISTRO enviada para ADMIN - usuario: {}", email);
+        registrarEnOutbox(evento);
+        log.info("✅ Notificacion de NUEVO REGISTRO registrada para ADMIN - usuario: {}", email);
     }
 
     public void enviarNotificacionBienvenidaRegistro(String email, Long usuarioId, String nombreUsuario) {
@@ -100,20 +107,32 @@ public class NotificacionEventService {
                 "USER" // Target: USUARIO
         );
 
-        enviarEvento(evento);
-        log.info("✅ Notificacion de BIENVENIDA POR REGISTRO enviada para USUARIO: {}", email);
+        registrarEnOutbox(evento);
+        log.info("✅ Notificacion de BIENVENIDA POR REGISTRO registrada para USUARIO: {}", email);
     }
 
-    private void enviarEvento(NotificacionEvent evento) {
-        try {
-            log.debug("📤 Enviando a exchange: {}, routing-key: {}", exchange, routingKey);
-            log.debug("📦 Contenido del evento: {}", evento);
+    /**
+     * Guarda el evento en el outbox. Se une a la transacción en curso, de modo que el evento
+     * se confirma o descarta junto con el cambio del usuario que lo originó.
+     */
+    private void registrarEnOutbox(NotificacionEvent evento) {
+        outboxRepository.save(NotificacionOutbox.builder()
+                .titulo(evento.getTitulo())
+                .mensaje(evento.getMensaje())
+                .tipo(evento.getTipo())
+                .usuarioId(evento.getUsuarioId())
+                .metadata(evento.getMetadata())
+                .targetRole(evento.getTargetRole())
+                .createdAt(LocalDateTime.now())
+                .attempts(0)
+                .build());
+    }
 
-            rabbitTemplate.convertAndSend(exchange, routingKey, evento);
+    private void enviarEvento(NotificacionEvent evento) {
+        log.debug("📦 Contenido del evento: {}", evento);
 
-            log.info("✅ Evento enviado exitosamente a RabbitMQ");
-        } catch (Exception e) {
-            log.error("❌ Error enviando evento de notificacion: {}", e.getMessage(), e);
+        if (asyncNotificacionPublisher.enqueue(evento)) {
+            log.info("✅ Evento encolado para RabbitMQ");
         }
     }
 }
\ No newline at end of file
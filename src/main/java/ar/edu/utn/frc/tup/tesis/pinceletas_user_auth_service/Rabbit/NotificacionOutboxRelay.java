@@ -0,0 +1,194 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit.events.NotificacionEvent;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.model.NotificacionOutbox;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.repository.NotificacionOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Relay del outbox de notificaciones.
+ * Periódicamente reclama un lote de eventos pendientes en una sentencia corta (con SKIP LOCKED
+ * para que varias réplicas puedan drenar en paralelo), lo publica con publisher confirms
+ * correlados y marca como publicados solo los eventos confirmados por el broker. La espera
+ * de las confirmaciones ocurre fuera de toda transacción: no retiene bloqueos de filas ni
+ * conexiones del pool. Los rechazados o sin confirmación a tiempo quedan pendientes para el
+ * próximo ciclo (entrega at-least-once) hasta alcanzar maxAttempts, y entonces pasan a
+ * dead-letter. Un evento que falla por sí mismo (por ejemplo, al convertirlo) se saltea sin
+ * frenar al resto del lote.
+ */
+@Component
+public class NotificacionOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificacionOutboxRelay.class);
+
+    private final NotificacionOutboxRepository outboxRepository;
+
+    private final RabbitTemplate rabbitTemplate;
+
+    private final String exchange;
+
+    private final String routingKey;
+
+    private final int batchSize;
+
+    private final long confirmTimeoutMs;
+
+    private final long retentionHours;
+
+    private final int maxAttempts;
+
+    private final long claimMs;
+
+    public NotificacionOutboxRelay(NotificacionOutboxRepository outboxRepository,
+                                   RabbitTemplate rabbitTemplate,
+                                   @Value("${app.rabbitmq.exchange:notificaciones.exchange}") String exchange,
+                                   @Value("${app.rabbitmq.routing-key:notificaciones.key}") String routingKey,
+                                   @Value("${app.rabbitmq.outbox.batch-size:100}") int batchSize,
+                                   @Value("${app.rabbitmq.outbox.confirm-timeout-ms:5000}") long confirmTimeoutMs,
+                                   @Value("${app.rabbitmq.outbox.retention-hours:24}") long retentionHours,
+                                   @Value("${app.rabbitmq.outbox.max-attempts:10}") int maxAttempts,
+                                   @Value("${app.rabbitmq.outbox.claim-ms:60000}") long claimMs) {
+        this.outboxRepository = outboxRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.exchange = exchange;
+        this.routingKey = routingKey;
+        this.batchSize = batchSize;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.retentionHours = retentionHours;
+        this.maxAttempts = maxAttempts;
+        // La reserva debe superar la espera de confirmaciones para que otra réplica no republique el lote
+        this.claimMs = Math.max(claimMs, 2 * confirmTimeoutMs);
+    }
+
+    /**
+     * Publica un lote de eventos pendientes y marca los confirmados.
+     * El reclamo y cada marcado son transacciones cortas e independientes.
+     *
+     * @return Cantidad de eventos confirmados por el broker.
+     */
+    @Scheduled(fixedDelayString = "${app.rabbitmq.outbox.relay-interval-ms:1000}")
+    public int relay() {
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificacionOutbox> batch = new ArrayList<>(outboxRepository.claimPendingBatch(
+                batchSize, maxAttempts, now, now.plus(claimMs, ChronoUnit.MILLIS)));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        batch.sort(Comparator.comparing(NotificacionOutbox::getId));
+
+        Map<Long, CorrelationData> sent = new LinkedHashMap<>();
+        List<Long> failed = new ArrayList<>();
+        List<Long> notAttempted = new ArrayList<>();
+        boolean brokerDown = false;
+        for (NotificacionOutbox row : batch) {
+            if (brokerDown) {
+                notAttempted.add(row.getId());
+                continue;
+            }
+            CorrelationData correlation = new CorrelationData(String.valueOf(row.getId()));
+            try {
+                rabbitTemplate.convertAndSend(exchange, routingKey, toEvent(row), correlation);
+                sent.put(row.getId(), correlation);
+            } catch (AmqpConnectException e) {
+                // Con el broker caído el resto del lote fallaría igual: se libera para el próximo ciclo
+                log.warn("❌ Broker no disponible publicando evento {} del outbox: {}", row.getId(), e.getMessage());
+                failed.add(row.getId());
+                brokerDown = true;
+            } catch (AmqpException e) {
+                log.warn("❌ Error publicando evento {} del outbox, se continúa con el lote: {}",
+                        row.getId(), e.getMessage());
+                failed.add(row.getId());
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+        List<Long> confirmed = new ArrayList<>();
+        for (Map.Entry<Long, CorrelationData> entry : sent.entrySet()) {
+            if (awaitAck(entry.getValue(), deadline)) {
+                confirmed.add(entry.getKey());
+            } else {
+                failed.add(entry.getKey());
+            }
+        }
+
+        if (!confirmed.isEmpty()) {
+            outboxRepository.markPublished(confirmed, LocalDateTime.now());
+        }
+        if (!failed.isEmpty()) {
+            outboxRepository.incrementAttempts(failed);
+            log.warn("{} eventos del outbox sin confirmar, se reintentarán", failed.size());
+            logDeadLetters(batch, failed);
+        }
+        if (!notAttempted.isEmpty()) {
+            outboxRepository.releaseClaims(notAttempted);
+        }
+        log.debug("Outbox: {} eventos publicados y confirmados", confirmed.size());
+        return confirmed.size();
+    }
+
+    /**
+     * Elimina los eventos ya publicados con más antigüedad que la retención configurada.
+     *
+     * @return Cantidad de eventos eliminados.
+     */
+    @Transactional
+    public int cleanupPublished() {
+        return outboxRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+    }
+
+    /**
+     * Espera la confirmación del broker hasta el deadline común del lote.
+     */
+    private boolean awaitAck(CorrelationData correlation, long deadline) {
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            CorrelationData.Confirm confirm = correlation.getFuture().get(remaining, TimeUnit.NANOSECONDS);
+            if (!confirm.isAck()) {
+                log.warn("Broker rechazó el evento {} del outbox: {}", correlation.getId(), confirm.getReason());
+            }
+            return confirm.isAck();
+        } catch (TimeoutException | ExecutionException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Informa los eventos que con este fallo alcanzaron el máximo de intentos y ya no se reintentarán.
+     */
+    private void logDeadLetters(List<NotificacionOutbox> batch, List<Long> failed) {
+        for (NotificacionOutbox row : batch) {
+            if (failed.contains(row.getId()) && row.getAttempts() + 1 >= maxAttempts) {
+                log.error("Evento {} del outbox descartado tras {} intentos fallidos (dead-letter)",
+                        row.getId(), maxAttempts);
+            }
+        }
+    }
+
+    private static NotificacionEvent toEvent(NotificacionOutbox row) {
+        return new NotificacionEvent(row.getTitulo(), row.getMensaje(), row.getTipo(),
+                row.getUsuarioId(), row.getMetadata(), row.getTargetRole());
+    }
+}
@@ -0,0 +1,239 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit.events.UserCacheInvalidationEvent;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.UserRevocationRegistry;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.UserSummaryCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invalidación de la caché de usuarios en dos niveles: local e inter-réplica.
+ * Cada modificación de un usuario invalida primero la caché local y luego difunde el
+ * evento por el exchange fanout para que el resto de las réplicas hagan lo mismo.
+ * Las desactivaciones y eliminaciones además revocan al usuario en el registro de
+ * revocación de cada réplica. Los eventos originados por la propia réplica se ignoran al recibirse.
+ * La difusión es asíncrona: los eventos se entregan a un executor de un solo thread con cola
+ * acotada, de modo que una caída o lentitud del broker no bloquea el request que modificó al
+ * usuario. Las revocaciones se reintentan hasta maxAttempts veces, porque de ellas depende
+ * que las otras réplicas rechacen los JWT del usuario. Los eventos que no se pudieron difundir
+ * se cuentan en la métrica "usuarios.cache.invalidation.failed".
+ */
+@Service
+public class UserCacheInvalidationService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserCacheInvalidationService.class);
+
+    private final UserSummaryCache userSummaryCache;
+
+    private final UserRevocationRegistry userRevocationRegistry;
+
+    private final RabbitTemplate rabbitTemplate;
+
+    private final String exchange;
+
+    /** Executor que difunde los eventos fuera del thread del request. */
+    private final Executor publisher;
+
+    private final int maxAttempts;
+
+    private final long retryBackoffMs;
+
+    private final MeterRegistry meterRegistry;
+
+    /** Identificador de esta réplica, usado para descartar los eventos propios. */
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Autowired
+    public UserCacheInvalidationService(UserSummaryCache userSummaryCache,
+                                        UserRevocationRegistry userRevocationRegistry,
+                                        RabbitTemplate rabbitTemplate,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${app.rabbitmq.user-cache-exchange:usuarios.cache.invalidation}") String exchange,
+                                        @Value("${app.rabbitmq.user-cache.queue-capacity:1000}") int queueCapacity,
+                                        @Value("${app.rabbitmq.user-cache.max-attempts:3}") int maxAttempts,
+                                        @Value("${app.rabbitmq.user-cache.retry-backoff-ms:1000}") long retryBackoffMs) {
+        this(userSummaryCache, userRevocationRegistry, rabbitTemplate, meterRegistry, exchange,
+                newPublisher(queueCapacity, meterRegistry), maxAttempts, retryBackoffMs);
+    }
+
+    /**
+     * Crea el servicio con el executor de difusión indicado (por ejemplo, uno sincrónico en tests).
+     */
+    UserCacheInvalidationService(UserSummaryCache userSummaryCache,
+                                 UserRevocationRegistry userRevocationRegistry,
+                                 RabbitTemplate rabbitTemplate,
+                                 MeterRegistry meterRegistry,
+                                 String exchange,
+                                 Executor publisher,
+                                 int maxAttempts,
+                                 long retryBackoffMs) {
+        this.userSummaryCache = userSummaryCache;
+        this.userRevocationRegistry = userRevocationRegistry;
+        this.rabbitTemplate = rabbitTemplate;
+        this.meterRegistry = meterRegistry;
+        this.exchange = exchange;
+        this.publisher = publisher;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    /**
+     * Invalida un usuario en esta réplica y en el resto.
+     *
+     * @param userId ID del usuario (puede ser null).
+     * @param email Email del usuario (puede ser null).
+     */
+    public void invalidate(Long userId, String email) {
+        userSummaryCache.evict(userId, email);
+        publish(new UserCacheInvalidationEvent(instanceId, userId, email, false, false));
+    }
+
+    /**
+     * Revoca a un usuario desactivado o eliminado en esta réplica y en el resto,
+     * invalidando además sus entradas de caché.
+     *
+     * @param userId ID del usuario (puede ser null).
+     * @param email Email del usuario.
+     */
+    public void revoke(Long userId, String email) {
+        userRevocationRegistry.revoke(email);
+        userSummaryCache.evict(userId, email);
+        publish(new UserCacheInvalidationEvent(instanceId, userId, email, false, true));
+    }
+
+    /**
+     * Invalida un usuario conociendo solo su email, en esta réplica y en el resto.
+     *
+     * @param email Email del usuario.
+     */
+    public void invalidateEmail(String email) {
+        invalidate(null, email);
+    }
+
+    /**
+     * Invalida la caché completa en esta réplica y en el resto.
+     */
+    public void invalidateAll() {
+        userSummaryCache.invalidateAll();
+        publish(new UserCacheInvalidationEvent(instanceId, null, null, true, false));
+    }
+
+    /**
+     * Aplica localmente las invalidaciones recibidas de otras réplicas.
+     *
+     * @param event Evento de invalidación recibido.
+     */
+    @RabbitListener(queues = "#{userCacheInvalidationQueue.name}")
+    public void onInvalidation(UserCacheInvalidationEvent event) {
+        if (instanceId.equals(event.getOriginId())) {
+            return;
+        }
+        log.debug("📥 Invalidación de caché recibida: {}", event);
+        if (event.isRevoked() && event.getEmail() != null) {
+            userRevocationRegistry.revoke(event.getEmail());
+        }
+        if (event.isAllUsers()) {
+            userSummaryCache.invalidateAll();
+        } else {
+            userSummaryCache.evict(event.getUserId(), event.getEmail());
+        }
+    }
+
+    /**
+     * Entrega el evento al executor de difusión sin bloquear al llamador. Un fallo del broker
+     * no interrumpe la operación que lo originó, y las réplicas remotas quedan acotadas por el
+     * vencimiento de la caché.
+     */
+    private void publish(UserCacheInvalidationEvent event) {
+        try {
+            publisher.execute(() -> send(event));
+        } catch (RejectedExecutionException e) {
+            failed(event, "rejected");
+            log.error("❌ Cola de invalidaciones de caché llena, se descarta el evento {}", event);
+        }
+    }
+
+    /**
+     * Publica el evento en el exchange; las revocaciones se reintentan hasta maxAttempts veces.
+     */
+    private void send(UserCacheInvalidationEvent event) {
+        int attempts = event.isRevoked() ? maxAttempts : 1;
+        for (int attempt = 1; attempt <= attempts; attempt++) {
+            try {
+                rabbitTemplate.convertAndSend(exchange, "", event);
+                return;
+            } catch (Exception e) {
+                log.error("❌ Error difundiendo invalidación de caché de usuarios (intento {}/{}): {}",
+                        attempt, attempts, e.getMessage());
+                if (attempt < attempts && !sleep(retryBackoffMs)) {
+                    break;
+                }
+            }
+        }
+        failed(event, "error");
+    }
+
+    private void failed(UserCacheInvalidationEvent event, String reason) {
+        meterRegistry.counter("usuarios.cache.invalidation.failed",
+                "reason", reason, "revoked", String.valueOf(event.isRevoked())).increment();
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Crea el executor de un solo thread con cola acotada que difunde los eventos.
+     */
+    private static ThreadPoolExecutor newPublisher(int queueCapacity, MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "usuarios-cache-publisher");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, "usuarios.cache.invalidation", Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+
+    /**
+     * Detiene el executor de difusión, dejando terminar los eventos ya encolados.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (publisher instanceof ThreadPoolExecutor executor) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Identificador de esta réplica.
+     *
+     * @return ID de la instancia.
+     */
+    public String getInstanceId() {
+        return instanceId;
+    }
+}
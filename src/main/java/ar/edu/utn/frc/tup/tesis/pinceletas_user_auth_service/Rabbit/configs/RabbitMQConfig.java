@@ -5,6 +5,7 @@ import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -35,10 +36,18 @@ public class RabbitMQConfig {
         return new Jackson2JsonMessageConverter();
     }
 
+    /**
+     * Template de publicación. Con usePublisherConnection los publishes usan una conexión
+     * separada de la de los listeners, de modo que si el broker frena a los publishers
+     * (flow control) los consumidores siguen recibiendo mensajes. Los canales se reutilizan
+     * desde la caché del CachingConnectionFactory (spring.rabbitmq.cache.channel.size).
+     */
     @Bean
-    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory,
+                                         @Value("${app.rabbitmq.use-publisher-connection:true}") boolean usePublisherConnection) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(jsonMessageConverter());
+        rabbitTemplate.setUsePublisherConnection(usePublisherConnection);
         return rabbitTemplate;
     }
 }
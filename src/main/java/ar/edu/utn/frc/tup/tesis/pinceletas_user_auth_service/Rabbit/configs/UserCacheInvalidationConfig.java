@@ -0,0 +1,37 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit.configs;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Base64UrlNamingStrategy;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del broadcast de invalidación de la caché de usuarios.
+ * Cada réplica declara su propia cola anónima (exclusiva y auto-eliminable) ligada a un
+ * exchange fanout, de modo que todas las réplicas reciben cada mensaje de invalidación.
+ */
+@Configuration
+public class UserCacheInvalidationConfig {
+
+    @Bean
+    public FanoutExchange userCacheInvalidationExchange(
+            @Value("${app.rabbitmq.user-cache-exchange:usuarios.cache.invalidation}") String exchangeName) {
+        return new FanoutExchange(exchangeName, true, false);
+    }
+
+    @Bean
+    public Queue userCacheInvalidationQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy("usuarios.cache."));
+    }
+
+    @Bean
+    public Binding userCacheInvalidationBinding(Queue userCacheInvalidationQueue,
+                                                FanoutExchange userCacheInvalidationExchange) {
+        return BindingBuilder.bind(userCacheInvalidationQueue).to(userCacheInvalidationExchange);
+    }
+}
@@ -0,0 +1,27 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Mensaje de invalidación de la caché de usuarios difundido entre réplicas.
+ * Identifica al usuario por ID y/o email; si allUsers es true se invalida la caché completa
+ * y si revoked es true el usuario además se revoca (desactivación o eliminación).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserCacheInvalidationEvent {
+
+    /** Identificador de la réplica que originó la invalidación. */
+    private String originId;
+    /** ID del usuario modificado (puede ser null). */
+    private Long userId;
+    /** Email del usuario modificado (puede ser null). */
+    private String email;
+    /** Indica si se debe invalidar la caché completa. */
+    private boolean allUsers;
+    /** Indica si el usuario fue desactivado o eliminado. */
+    private boolean revoked;
+}
@@ -4,19 +4,44 @@ import com.google.auth.oauth2.GoogleCredentials;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
 import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Configuración de Firebase para autenticación con proveedores externos.
  * Inicializa Firebase Admin SDK con credenciales desde variables de entorno o archivo.
+ * La inicialización no bloquea el arranque del contexto: con app.firebase.eager-init=true
+ * se lanza en segundo plano al crear el bean, y si no se difiere hasta el primer uso.
+ * Quien necesita la FirebaseApp solo espera si la inicialización todavía no terminó.
+ * Si falla, el próximo uso la reintenta.
  */
 @Configuration
+@Slf4j
 public class FirebaseConfig {
 
+    /**
+     * Estado de la inicialización de Firebase.
+     */
+    public enum State {
+        /** La inicialización no se solicitó todavía (modo lazy). */
+        NOT_STARTED,
+        /** La inicialización está en curso. */
+        INITIALIZING,
+        /** Firebase está inicializado. */
+        READY,
+        /** La última inicialización falló. */
+        FAILED
+    }
+
     /** ID del proyecto de Firebase. */
     @Value("${firebase.project-id}")
     private String projectId;
@@ -25,40 +50,139 @@ public class FirebaseConfig {
     @Value("${firebase.credentials.json:#{null}}")
     private String firebaseCredentialsJson;
 
+    /** Indica si la inicialización se lanza al arrancar en lugar de en el primer uso. */
+    @Value("${app.firebase.eager-init:false}")
+    private boolean eagerInit;
+
+    /** Espera máxima de quien necesita la FirebaseApp mientras se inicializa. */
+    @Value("${app.firebase.init-wait-ms:10000}")
+    private long initWaitMs;
+
+    /** Inicialización en curso o completada; null si todavía no se solicitó. */
+    private final AtomicReference<CompletableFuture<FirebaseApp>> initialization = new AtomicReference<>();
+
+    /** Duración de la última inicialización exitosa en milisegundos. */
+    private volatile long initMillis = -1;
+
     /**
-     * Inicializa Firebase Admin SDK después de la construcción del bean.
-     * Intenta cargar credenciales primero desde variable de entorno, luego desde archivo.
-     *
-     * @throws Exception Si no se encuentran las credenciales o hay error en la inicialización.
+     * Lanza la inicialización en segundo plano si está configurada como eager.
      */
     @PostConstruct
-    public void init() throws Exception {
-        if (FirebaseApp.getApps().isEmpty()) {
-            GoogleCredentials credentials;
-
-            if (firebaseCredentialsJson != null && !firebaseCredentialsJson.isEmpty()) {
-                InputStream credentialsStream = new ByteArrayInputStream(
-                        firebaseCredentialsJson.getBytes(StandardCharsets.UTF_8)
-                );
-                credentials = GoogleCredentials.fromStream(credentialsStream);
-            } else {
-                try (InputStream serviceAccount = getClass()
-                        .getClassLoader()
-                        .getResourceAsStream("firebase-service-account.json")) {
-
-                    if (serviceAccount == null) {
-                        throw new RuntimeException("No se encontró firebase-service-account.json ni variables de entorno");
-                    }
-                    credentials = GoogleCredentials.fromStream(serviceAccount);
-                }
+    public void start() {
+        if (eagerInit) {
+            initializeAsync();
+        }
+    }
+
+    /**
+     * Lanza la inicialización en segundo plano si no está en curso ni completada,
+     * o si la anterior falló.
+     *
+     * @return Future que se completa con la FirebaseApp inicializada.
+     */
+    public CompletableFuture<FirebaseApp> initializeAsync() {
+        while (true) {
+            CompletableFuture<FirebaseApp> current = initialization.get();
+            if (current != null && !current.isCompletedExceptionally()) {
+                return current;
+            }
+            CompletableFuture<FirebaseApp> next = new CompletableFuture<>();
+            if (initialization.compareAndSet(current, next)) {
+                Thread thread = new Thread(() -> initialize(next), "firebase-init");
+                thread.setDaemon(true);
+                thread.start();
+                return next;
             }
+        }
+    }
+
+    /**
+     * Retorna la FirebaseApp, esperando como mucho initWaitMs milisegundos si la
+     * inicialización no terminó.
+     *
+     * @return FirebaseApp inicializada.
+     * @throws IllegalStateException si la inicialización falló o no terminó a tiempo.
+     */
+    public FirebaseApp awaitApp() {
+        try {
+            return initializeAsync().get(initWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Firebase todavía se está inicializando");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error inicializando Firebase: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Espera de la inicialización de Firebase interrumpida", e);
+        }
+    }
+
+    /**
+     * Estado actual de la inicialización.
+     *
+     * @return Estado de Firebase.
+     */
+    public State getState() {
+        CompletableFuture<FirebaseApp> current = initialization.get();
+        if (current == null) {
+            return State.NOT_STARTED;
+        }
+        if (!current.isDone()) {
+            return State.INITIALIZING;
+        }
+        return current.isCompletedExceptionally() ? State.FAILED : State.READY;
+    }
+
+    /**
+     * Duración de la última inicialización exitosa.
+     *
+     * @return Milisegundos, o -1 si Firebase no se inicializó.
+     */
+    public long getInitMillis() {
+        return initMillis;
+    }
+
+    /**
+     * Inicializa Firebase Admin SDK y completa el future con el resultado.
+     * Intenta cargar credenciales primero desde variable de entorno, luego desde archivo.
+     */
+    private void initialize(CompletableFuture<FirebaseApp> future) {
+        long start = System.nanoTime();
+        try {
+            FirebaseApp app = FirebaseApp.getApps().isEmpty()
+                    ? FirebaseApp.initializeApp(buildOptions())
+                    : FirebaseApp.getInstance();
+            initMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            log.info("Firebase inicializado en {} ms", initMillis);
+            future.complete(app);
+        } catch (Exception e) {
+            log.error("Error inicializando Firebase, se reintentará en el próximo uso: {}", e.getMessage());
+            future.completeExceptionally(e);
+        }
+    }
+
+    private FirebaseOptions buildOptions() throws Exception {
+        GoogleCredentials credentials;
 
-            FirebaseOptions options = FirebaseOptions.builder()
-                    .setCredentials(credentials)
-                    .setProjectId(projectId)
-                    .build();
+        if (firebaseCredentialsJson != null && !firebaseCredentialsJson.isEmpty()) {
+            InputStream credentialsStream = new ByteArrayInputStream(
+                    firebaseCredentialsJson.getBytes(StandardCharsets.UTF_8)
+            );
+            credentials = GoogleCredentials.fromStream(credentialsStream);
+        } else {
+            try (InputStream serviceAccount = getClass()
+                    .getClassLoader()
+                    .getResourceAsStream("firebase-service-account.json")) {
 
-            FirebaseApp.initializeApp(options);
+                if (serviceAccount == null) {
+                    throw new RuntimeException("No se encontró firebase-service-account.json ni variables de entorno");
+                }
+                credentials = GoogleCredentials.fromStream(serviceAccount);
+            }
         }
+
+        return FirebaseOptions.builder()
+                .setCredentials(credentials)
+                .setProjectId(projectId)
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,52 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indicador de salud de la inicialización de Firebase, publicado en /actuator/health
+ * como "firebase" e incluido en el grupo de readiness (/actuator/health/readiness).
+ * Nunca informa DOWN: Firebase se reintenta en el siguiente uso, por lo que reiniciar la
+ * instancia no ayuda. Con app.firebase.verification.mode=sdk la verificación depende del
+ * SDK, y mientras se inicializa o si la última inicialización falló informa OUT_OF_SERVICE
+ * para sacar la instancia del balanceo. En modo local el SDK no se usa para verificar y
+ * esos estados se informan como UNKNOWN, sin afectar el estado general.
+ * Sin inicializar (modo lazy) se considera UP.
+ */
+@Component("firebase")
+public class FirebaseHealthIndicator implements HealthIndicator {
+
+    /** Configuración que mantiene el estado de la inicialización. */
+    private final FirebaseConfig firebaseConfig;
+
+    /** Indica si la verificación de tokens depende del SDK de Firebase. */
+    private final boolean sdkRequired;
+
+    /**
+     * Construye el indicador según el modo de verificación configurado.
+     *
+     * @param firebaseConfig Configuración que mantiene el estado de la inicialización.
+     * @param verificationMode Modo de verificación de tokens: local o sdk.
+     */
+    public FirebaseHealthIndicator(FirebaseConfig firebaseConfig,
+                                   @Value("${app.firebase.verification.mode:local}") String verificationMode) {
+        this.firebaseConfig = firebaseConfig;
+        this.sdkRequired = "sdk".equalsIgnoreCase(verificationMode);
+    }
+
+    @Override
+    public Health health() {
+        FirebaseConfig.State state = firebaseConfig.getState();
+        Health.Builder builder = switch (state) {
+            case NOT_STARTED, READY -> Health.up();
+            case INITIALIZING, FAILED -> sdkRequired ? Health.outOfService() : Health.unknown();
+        };
+        builder.withDetail("state", state.name());
+        if (state == FirebaseConfig.State.READY) {
+            builder.withDetail("initMillis", firebaseConfig.getInitMillis());
+        }
+        return builder.build();
+    }
+}
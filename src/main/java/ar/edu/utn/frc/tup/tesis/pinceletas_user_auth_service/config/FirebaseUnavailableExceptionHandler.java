@@ -0,0 +1,44 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.config;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.common.MessageResponse;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase.FirebaseUnavailableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Traduce la indisponibilidad de Firebase (circuito abierto, bulkhead saturado o timeout)
+ * a una respuesta 503 con header Retry-After, en lugar de un error genérico.
+ */
+@RestControllerAdvice
+public class FirebaseUnavailableExceptionHandler {
+
+    /** Segundos sugeridos al cliente antes de reintentar. */
+    private final long retryAfterSeconds;
+
+    /**
+     * Construye el handler con el tiempo de reintento configurado.
+     *
+     * @param retryAfterSeconds Segundos informados en el header Retry-After.
+     */
+    public FirebaseUnavailableExceptionHandler(
+            @Value("${app.firebase.resilience.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Responde 503 cuando la verificación con Firebase no está disponible.
+     *
+     * @param e Excepción de indisponibilidad de Firebase.
+     * @return MessageResponse con el motivo y el header Retry-After.
+     */
+    @ExceptionHandler(FirebaseUnavailableException.class)
+    public ResponseEntity<MessageResponse> handleUnavailable(FirebaseUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(MessageResponse.of(e.getMessage()));
+    }
+}
@@ -0,0 +1,45 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.config;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.common.MessageResponse;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.PasswordHashingRejectedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Traduce el rechazo del pool de hashing de contraseñas a una respuesta 503.
+ * Incluye el header Retry-After para que los clientes reintenten más tarde en lugar
+ * de reintentar inmediatamente y agravar la saturación.
+ */
+@RestControllerAdvice
+public class PasswordHashingExceptionHandler {
+
+    /** Segundos sugeridos al cliente antes de reintentar. */
+    private final long retryAfterSeconds;
+
+    /**
+     * Construye el handler con el tiempo de reintento configurado.
+     *
+     * @param retryAfterSeconds Segundos informados en el header Retry-After.
+     */
+    public PasswordHashingExceptionHandler(
+            @Value("${app.security.hashing.retry-after-seconds:2}") long retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Responde 503 cuando el pool de hashing rechaza una operación.
+     *
+     * @param e Excepción de rechazo del pool.
+     * @return MessageResponse con el motivo y el header Retry-After.
+     */
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<MessageResponse> handleRejected(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(MessageResponse.of(e.getMessage()));
+    }
+}
@@ -1,6 +1,8 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.config;
 
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit.NotificacionOutboxRelay;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.PasswordResetService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.RefreshTokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -8,7 +10,8 @@ import org.springframework.stereotype.Component;
 
 /**
  * Componente que ejecuta tareas programadas del sistema.
- * Gestiona la limpieza automática de tokens de recuperación de contraseña expirados.
+ * Gestiona la limpieza automática de tokens de recuperación de contraseña y refresh tokens expirados,
+ * y de los eventos ya publicados del outbox de notificaciones.
  */
 @Component
 @RequiredArgsConstructor
@@ -17,6 +20,10 @@ public class ScheduledTasks {
 
     /** Servicio para gestión de tokens de recuperación de contraseña. */
     private final PasswordResetService passwordResetService;
+    /** Servicio para gestión de refresh tokens. */
+    private final RefreshTokenService refreshTokenService;
+    /** Relay del outbox de notificaciones. */
+    private final NotificacionOutboxRelay notificacionOutboxRelay;
 
     /**
      * Limpia tokens de recuperación de contraseña que hayan expirado.
@@ -28,4 +35,24 @@ public class ScheduledTasks {
         passwordResetService.cleanupExpiredTokens();
         log.info("Limpieza de tokens expirados completada");
     }
+
+    /**
+     * Limpia refresh tokens que hayan expirado.
+     * Se ejecuta cada hora (3600000 milisegundos) de forma automática.
+     */
+    @Scheduled(fixedRate = 3600000)
+    public void cleanupExpiredRefreshTokens() {
+        log.info("Ejecutando limpieza de refresh tokens expirados");
+        refreshTokenService.cleanupExpiredTokens();
+    }
+
+    /**
+     * Elimina los eventos del outbox ya publicados que superaron la retención.
+     * Se ejecuta cada hora (3600000 milisegundos) de forma automática.
+     */
+    @Scheduled(fixedRate = 3600000)
+    public void cleanupPublishedNotifications() {
+        int deleted = notificacionOutboxRelay.cleanupPublished();
+        log.info("Limpieza del outbox de notificaciones completada: {} eventos eliminados", deleted);
+    }
 }
@@ -1,7 +1,12 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.config;
 
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.BoundedPasswordEncoder;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.JwtAuthenticationFilter;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.PasswordEncoderFactory;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.ServiceTokenAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -15,7 +20,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -32,6 +36,9 @@ public class SecurityConfig {
     /** Filtro JWT personalizado para validar tokens en cada request. */
     private final JwtAuthenticationFilter jwtAuthFilter;
 
+    /** Filtro que autentica a los microservicios internos por token compartido. */
+    private final ServiceTokenAuthenticationFilter serviceTokenFilter;
+
     /** Servicio para cargar detalles de usuarios desde la base de datos. */
     private final UserDetailsService userDetailsService;
 
@@ -40,11 +47,12 @@ public class SecurityConfig {
      * Define qué endpoints son públicos y cuáles requieren autenticación.
      *
      * @param http Objeto HttpSecurity para configurar la seguridad.
+     * @param passwordEncoder Codificador de contraseñas de la aplicación.
      * @return SecurityFilterChain configurada.
      * @throws Exception Si hay error en la configuración.
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, PasswordEncoder passwordEncoder) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .cors(Customizer.withDefaults())
@@ -52,13 +60,15 @@ public class SecurityConfig {
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/register", "/api/auth/login",
-                                "/api/auth/forgot-password", "/api/auth/reset-password").permitAll()
+                                "/api/auth/forgot-password", "/api/auth/reset-password",
+                                "/api/auth/refresh").permitAll()
                         .requestMatchers("/api/auth/firebase/login", "/api/auth/firebase/register").permitAll()
 
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**",
                                 "/webjars/**", "/api-docs/**", "/swagger-ui.html").permitAll()
 
-                        .requestMatchers("/health").permitAll()
+                        .requestMatchers("/health", "/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
 
                         .requestMatchers("/api/locations/**").permitAll()
@@ -68,6 +78,10 @@ public class SecurityConfig {
 
                         .requestMatchers(HttpMethod.GET, "/api/users/by-id/**").permitAll()
 
+                        // Consulta en bloque: solo servicios internos (X-Service-Token) o administradores
+                        .requestMatchers(HttpMethod.POST, "/api/users/batch")
+                        .hasAnyRole(ServiceTokenAuthenticationFilter.SERVICE_ROLE, "ADMIN")
+
                         .requestMatchers(HttpMethod.GET, "/api/reports/users/active-inactive").permitAll()
 
                         .requestMatchers(HttpMethod.DELETE, "/api/users/profile/**").hasRole("ADMIN")
@@ -76,7 +90,8 @@ public class SecurityConfig {
 
                         .anyRequest().authenticated()
                 )
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider(passwordEncoder))
+                .addFilterBefore(serviceTokenFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
                 .headers(headers -> headers
                         .frameOptions(frameOptions -> frameOptions.disable())
@@ -86,13 +101,29 @@ public class SecurityConfig {
     }
 
     /**
-     * Crea el codificador de contraseñas usando BCrypt.
+     * Crea el codificador de contraseñas con el algoritmo y el costo configurados.
+     * Los hashes existentes de otros algoritmos o costos se siguen verificando y se
+     * rehashean al iniciar sesión.
+     * El hashing se ejecuta en un pool dedicado y acotado para no ocupar los threads del servidor.
      *
-     * @return PasswordEncoder configurado con BCrypt.
+     * @param meterRegistry Registro de métricas de la aplicación.
+     * @param algorithm Algoritmo para los hashes nuevos: bcrypt, argon2 o pbkdf2.
+     * @param bcryptStrength Costo de BCrypt.
+     * @param poolSize Cantidad de threads dedicados al hashing (0 = cantidad de procesadores).
+     * @param queueCapacity Cantidad máxima de operaciones en espera.
+     * @param timeoutMs Tiempo máximo de espera de cada operación en milisegundos.
+     * @return PasswordEncoder delegante configurado.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${app.security.password.algorithm:bcrypt}") String algorithm,
+                                           @Value("${app.security.password.bcrypt-strength:10}") int bcryptStrength,
+                                           @Value("${app.security.hashing.pool-size:0}") int poolSize,
+                                           @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity,
+                                           @Value("${app.security.hashing.timeout-ms:5000}") long timeoutMs) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(PasswordEncoderFactory.create(algorithm, bcryptStrength),
+                threads, queueCapacity, timeoutMs, meterRegistry);
     }
 
     /**
@@ -111,13 +142,14 @@ public class SecurityConfig {
      * Configura el proveedor de autenticación DAO.
      * Conecta el UserDetailsService con el PasswordEncoder.
      *
+     * @param passwordEncoder Codificador de contraseñas de la aplicación.
      * @return AuthenticationProvider configurado.
      */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 }
\ No newline at end of file
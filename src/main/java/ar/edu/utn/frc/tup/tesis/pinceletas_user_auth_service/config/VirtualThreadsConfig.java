@@ -0,0 +1,52 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Informa al iniciar el modo de ejecución de los requests (threads virtuales o de plataforma).
+ * Con spring.threads.virtual.enabled=true y Java 21, Spring Boot ejecuta en threads virtuales
+ * los requests de Tomcat, las tareas @Scheduled, el executor asíncrono y los listeners de
+ * RabbitMQ, de modo que las llamadas bloqueantes (Firebase, Resend, RabbitMQ, APIs de
+ * ubicación) no retienen threads de plataforma. En versiones anteriores la propiedad se ignora.
+ * Los pools de hashing de contraseñas siguen en threads de plataforma porque su trabajo es de CPU.
+ */
+@Component
+@Slf4j
+public class VirtualThreadsConfig {
+
+    /** Versión mínima de Java con threads virtuales estables. */
+    private static final int MIN_JAVA_VERSION = 21;
+
+    /** Indica si se solicitó el modo de threads virtuales. */
+    private final boolean virtualThreadsEnabled;
+
+    /**
+     * Construye el componente con la configuración de threads virtuales.
+     *
+     * @param virtualThreadsEnabled Valor de spring.threads.virtual.enabled.
+     */
+    public VirtualThreadsConfig(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+    }
+
+    /**
+     * Registra en el log el modo efectivo y las opciones de diagnóstico de pinning.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadingMode() {
+        int javaVersion = Runtime.version().feature();
+        if (!virtualThreadsEnabled) {
+            log.info("Requests atendidos con threads de plataforma (Java {})", javaVersion);
+        } else if (javaVersion < MIN_JAVA_VERSION) {
+            log.warn("spring.threads.virtual.enabled ignorado: requiere Java {} y se ejecuta en Java {}",
+                    MIN_JAVA_VERSION, javaVersion);
+        } else {
+            log.info("Requests atendidos con threads virtuales (Java {}). Pinning: {}", javaVersion,
+                    System.getProperty("jdk.tracePinnedThreads", "sin traza (usar -Djdk.tracePinnedThreads=short o el evento JFR jdk.VirtualThreadPinned)"));
+        }
+    }
+}
@@ -47,6 +47,19 @@ public class AuthController {
         return ResponseEntity.ok(authService.login(request));
     }
 
+    /**
+     * Renueva el access token usando un refresh token.
+     * El refresh token presentado se invalida y la respuesta incluye uno nuevo.
+     *
+     * @param request Refresh token obtenido en el login o en la última renovación.
+     * @return AuthResponse con el nuevo token JWT y el nuevo refresh token.
+     */
+    @PostMapping("/refresh")
+    @Operation(summary = "Renovar token", description = "Canjea un refresh token por un nuevo access token y refresh token")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
     /**
      * Inicia el proceso de recuperación de contraseña.
      * Envía un token de 6 dígitos al email del usuario si existe y está activo.
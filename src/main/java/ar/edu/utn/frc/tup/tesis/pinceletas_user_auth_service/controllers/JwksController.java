@@ -0,0 +1,47 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.controllers;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.JwtSigningKeys;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controlador REST que publica las claves públicas de firma de tokens en formato JWKS.
+ * Permite que los demás microservicios verifiquen los tokens ES256 localmente,
+ * cacheando las claves según el header Cache-Control de la respuesta.
+ */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "JWKS", description = "Claves públicas para verificación de tokens")
+public class JwksController {
+
+    /** Material de firma que contiene las claves públicas aceptadas. */
+    private final JwtSigningKeys signingKeys;
+
+    /** Tiempo en segundos durante el cual los clientes pueden cachear el JWKS. */
+    @Value("${app.jwt.jwks.max-age-seconds:3600}")
+    private long maxAgeSeconds;
+
+    /**
+     * Retorna el conjunto de claves públicas vigentes (activa y retiradas aún válidas).
+     * En modo HS256 el conjunto está vacío.
+     *
+     * @return JWKS con las claves públicas de verificación.
+     */
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(summary = "Obtener JWKS", description = "Claves públicas para verificar tokens ES256")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+                .body(Map.of("keys", signingKeys.getPublicJwks()));
+    }
+}
@@ -4,8 +4,10 @@ import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.common.MessageR
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.ChangePasswordRequest;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UpdateAddressRequest;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UpdateUserRequest;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserBatchRequest;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserBatchResponse;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserResponse;
-import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.model.UserEntity;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserSummary;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -145,20 +147,15 @@ public class UserController {
             description = "Endpoint para comunicación entre microservicios")
     public ResponseEntity<UserBasicInfo> getUserByEmail(@RequestParam String email) {
         try {
-            UserEntity user = userService.findByEmail(email);
-            if (user == null) {
-                return ResponseEntity.notFound().build();
-            }
-
-            UserBasicInfo response = new UserBasicInfo(
-                    user.getId(),
-                    user.getEmail(),
-                    user.getNombre(),
-                    user.getApellido(),
-                    user.getRole().name()
-            );
-
-            return ResponseEntity.ok(response);
+            return userService.findSummaryByEmail(email)
+                    .map(user -> ResponseEntity.ok(new UserBasicInfo(
+                            user.id(),
+                            user.email(),
+                            user.nombre(),
+                            user.apellido(),
+                            user.role().name()
+                    )))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -177,19 +174,14 @@ public class UserController {
             description = "Endpoint para comunicación entre microservicios")
     public ResponseEntity<UserEmailInfo> getUserEmailById(@PathVariable Long id) {
         try {
-            UserEntity user = userService.findById(id);
-            if (user == null) {
-                return ResponseEntity.notFound().build();
-            }
-
-            UserEmailInfo response = new UserEmailInfo(
-                    user.getId(),
-                    user.getEmail(),
-                    user.getNombre(),
-                    user.getApellido()
-            );
-
-            return ResponseEntity.ok(response);
+            return userService.findSummaryById(id)
+                    .map(user -> ResponseEntity.ok(new UserEmailInfo(
+                            user.id(),
+                            user.email(),
+                            user.nombre(),
+                            user.apellido()
+                    )))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -198,6 +190,22 @@ public class UserController {
     // Record para la respuesta
     public record UserEmailInfo(Long id, String email, String nombre, String apellido) {}
 
+    /**
+     * Obtiene los datos básicos de varios usuarios por ID y/o email en una sola llamada.
+     * Endpoint para comunicación entre microservicios: reemplaza N llamadas a /by-id/{id}
+     * por una sola consulta. Los IDs y emails inexistentes se informan por separado.
+     * Requiere el header X-Service-Token de un servicio interno o un JWT de administrador.
+     *
+     * @param request IDs y emails a consultar (máximo 200 de cada uno).
+     * @return UserBatchResponse con los usuarios encontrados y los faltantes.
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Obtener información básica de varios usuarios",
+            description = "Endpoint para comunicación entre microservicios (requiere X-Service-Token o rol ADMIN)")
+    public ResponseEntity<UserBatchResponse> getUsersBatch(@Valid @RequestBody UserBatchRequest request) {
+        return ResponseEntity.ok(userService.findSummaries(request));
+    }
+
     /**
      * Marca los términos y condiciones como aceptados por el usuario.
      *
@@ -6,12 +6,24 @@ import lombok.NoArgsConstructor;
 
 /**
  * Respuesta de autenticación que contiene el token JWT generado.
- * Se utiliza como respuesta para login y registro exitosos.
+ * Se utiliza como respuesta para login, registro y renovación de tokens exitosos.
  */
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class AuthResponse {
-    /** Token JWT generado para la autenticación del usuario. */
+    /** Token JWT (access token de corta duración) generado para la autenticación del usuario. */
     private String token;
+
+    /** Refresh token para obtener un nuevo access token sin volver a autenticarse. */
+    private String refreshToken;
+
+    /**
+     * Construye una respuesta solo con el access token.
+     *
+     * @param token Token JWT generado.
+     */
+    public AuthResponse(String token) {
+        this.token = token;
+    }
 }
@@ -0,0 +1,15 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.auth;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/**
+ * Solicitud para renovar el access token usando un refresh token.
+ */
+@Data
+public class RefreshTokenRequest {
+
+    /** Refresh token obtenido en el login o en la última renovación. */
+    @NotBlank(message = "El refresh token es requerido")
+    private String refreshToken;
+}
@@ -0,0 +1,29 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Solicitud de consulta masiva de usuarios para comunicación entre microservicios.
+ * Permite resolver en una sola llamada un conjunto de IDs y/o emails.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserBatchRequest {
+    /** Cantidad máxima de IDs o de emails aceptados por solicitud. */
+    public static final int MAX_BATCH_SIZE = 200;
+
+    /** IDs de los usuarios a consultar (máximo 200). */
+    @Size(max = MAX_BATCH_SIZE, message = "No se pueden consultar más de 200 IDs por solicitud")
+    private List<Long> ids = new ArrayList<>();
+
+    /** Emails de los usuarios a consultar (máximo 200). */
+    @Size(max = MAX_BATCH_SIZE, message = "No se pueden consultar más de 200 emails por solicitud")
+    private List<String> emails = new ArrayList<>();
+}
@@ -0,0 +1,27 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Respuesta de la consulta masiva de usuarios.
+ * Contiene los usuarios encontrados indexados por ID y por email, y por separado
+ * los IDs y emails solicitados que no corresponden a ningún usuario.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserBatchResponse {
+    /** Usuarios encontrados indexados por ID. */
+    private Map<Long, UserSummary> usersById;
+    /** Usuarios encontrados indexados por email. */
+    private Map<String, UserSummary> usersByEmail;
+    /** IDs solicitados que no existen. */
+    private List<Long> missingIds;
+    /** Emails solicitados que no existen. */
+    private List<String> missingEmails;
+}
@@ -0,0 +1,17 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.enums.RoleEnum;
+
+/**
+ * Proyección con los datos básicos de un usuario.
+ * Se obtiene directamente con una consulta que selecciona solo estas columnas,
+ * sin materializar la entidad UserEntity completa.
+ *
+ * @param id Identificador único del usuario.
+ * @param email Email del usuario.
+ * @param nombre Primer nombre del usuario.
+ * @param apellido Apellido del usuario.
+ * @param role Rol del usuario en el sistema.
+ */
+public record UserSummary(Long id, String email, String nombre, String apellido, RoleEnum role) {
+}
@@ -0,0 +1,68 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa un evento de notificación pendiente de publicar en RabbitMQ
+ * (patrón transactional outbox).
+ * Se inserta en la misma transacción que el alta o actualización del usuario que lo origina,
+ * y un relay lo publica luego con confirmación del broker.
+ */
+@Entity
+@Table(name = "notificaciones_outbox", indexes = {
+        @Index(name = "idx_notificaciones_outbox_published_at", columnList = "publishedAt, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificacionOutbox {
+
+    /** Identificador único del evento; define el orden de publicación. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Título de la notificación. */
+    @Column(nullable = false)
+    private String titulo;
+
+    /** Cuerpo de la notificación. */
+    @Column(nullable = false, length = 1000)
+    private String mensaje;
+
+    /** Tipo de evento (NUEVO_REGISTRO, BIENVENIDA_REGISTRO, etc.). */
+    @Column(nullable = false)
+    private String tipo;
+
+    /** ID del usuario destinatario (null para notificaciones de administración). */
+    private Long usuarioId;
+
+    /** Datos adicionales del evento en formato JSON. */
+    @Column(length = 1000)
+    private String metadata;
+
+    /** Rol destinatario de la notificación (USER o ADMIN). */
+    private String targetRole;
+
+    /** Fecha y hora de creación del evento. */
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    /** Fecha y hora en que el broker confirmó el evento (null si está pendiente). */
+    private LocalDateTime publishedAt;
+
+    /**
+     * Cantidad de intentos de publicación fallidos. Al alcanzar el máximo configurado el
+     * evento queda en dead-letter: no se reintenta y se conserva para su revisión.
+     */
+    @Column(nullable = false)
+    private int attempts;
+
+    /** Fecha y hora hasta la que un relay tiene reservado el evento (null si no está reclamado). */
+    private LocalDateTime claimedUntil;
+}
@@ -0,0 +1,59 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa un refresh token emitido a un usuario.
+ * Solo se almacena el digest SHA-256 del token, nunca su valor en claro.
+ * Los tokens obtenidos por rotación a partir del mismo login comparten una familia:
+ * si un token ya usado se vuelve a presentar, se revoca la familia completa.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_token_hash", columnList = "tokenHash", unique = true),
+        @Index(name = "idx_refresh_tokens_family_id", columnList = "familyId"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expiresAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    /** Identificador único del token en la base de datos. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Digest SHA-256 (hexadecimal) del token entregado al cliente. */
+    @Column(nullable = false, length = 64)
+    private String tokenHash;
+
+    /** Identificador de la familia de tokens originada en un mismo login. */
+    @Column(nullable = false, length = 36)
+    private String familyId;
+
+    /** ID del usuario dueño del token. */
+    @Column(nullable = false)
+    private Long userId;
+
+    /** Fecha y hora de expiración del token. */
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    /** Fecha y hora de creación del token. */
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    /** Indica si el token ya fue canjeado por un nuevo par de tokens. */
+    @Column(nullable = false)
+    private boolean used;
+
+    /** Indica si el token fue revocado (por reutilización o desactivación del usuario). */
+    @Column(nullable = false)
+    private boolean revoked;
+}
@@ -2,14 +2,17 @@ package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.model;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.enums.RoleEnum;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 /**
  * Entidad principal que representa un usuario en el sistema.
  * Almacena toda la información personal, de autenticación y dirección del usuario.
+ * Los UPDATE generados incluyen solo las columnas modificadas.
  */
 @Entity
+@DynamicUpdate
 @Table(name = "users")
 @Getter
 @Setter
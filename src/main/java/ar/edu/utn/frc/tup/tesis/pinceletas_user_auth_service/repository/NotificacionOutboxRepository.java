@@ -0,0 +1,90 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.repository;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.model.NotificacionOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio del outbox de notificaciones.
+ * Proporciona el reclamo de eventos pendientes y su marcado como publicados o fallidos.
+ */
+public interface NotificacionOutboxRepository extends JpaRepository<NotificacionOutbox, Long> {
+
+    /**
+     * Reclama un lote de eventos pendientes en orden de creación, en una única sentencia
+     * que se confirma de inmediato. Cada evento queda reservado hasta claimedUntil, de modo
+     * que el relay publica y espera las confirmaciones del broker sin mantener bloqueos de
+     * filas ni una conexión JDBC abierta; si el relay se cae, el evento vuelve a quedar
+     * disponible al vencer la reserva.
+     * SKIP LOCKED permite que varias réplicas reclamen lotes en paralelo sin esperarse entre sí.
+     * Los eventos que alcanzaron maxAttempts intentos fallidos (dead-letter) no se reclaman.
+     *
+     * @param limit Cantidad máxima de eventos del lote.
+     * @param maxAttempts Intentos fallidos a partir de los cuales el evento deja de reintentarse.
+     * @param now Fecha y hora actual, para ignorar reservas vigentes.
+     * @param claimedUntil Fecha y hora hasta la que se reservan los eventos reclamados.
+     * @return Eventos reclamados (sin orden garantizado).
+     */
+    @Transactional
+    @Query(value = "UPDATE notificaciones_outbox SET claimed_until = :claimedUntil WHERE id IN (" +
+            "  SELECT id FROM notificaciones_outbox WHERE published_at IS NULL AND attempts < :maxAttempts" +
+            "  AND (claimed_until IS NULL OR claimed_until < :now)" +
+            "  ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED" +
+            ") RETURNING *", nativeQuery = true)
+    List<NotificacionOutbox> claimPendingBatch(@Param("limit") int limit,
+                                               @Param("maxAttempts") int maxAttempts,
+                                               @Param("now") LocalDateTime now,
+                                               @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    /**
+     * Marca como publicados los eventos confirmados por el broker.
+     *
+     * @param ids IDs de los eventos confirmados.
+     * @param publishedAt Fecha y hora de la confirmación.
+     * @return Cantidad de eventos marcados.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE NotificacionOutbox o SET o.publishedAt = :publishedAt, o.claimedUntil = NULL WHERE o.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    /**
+     * Incrementa el contador de intentos fallidos de los eventos no confirmados y libera su
+     * reserva para que se reintenten en el próximo ciclo.
+     *
+     * @param ids IDs de los eventos rechazados o sin confirmación.
+     * @return Cantidad de eventos actualizados.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE NotificacionOutbox o SET o.attempts = o.attempts + 1, o.claimedUntil = NULL WHERE o.id IN :ids")
+    int incrementAttempts(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Libera la reserva de eventos reclamados que no llegaron a publicarse, sin contar un intento.
+     *
+     * @param ids IDs de los eventos a liberar.
+     * @return Cantidad de eventos actualizados.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE NotificacionOutbox o SET o.claimedUntil = NULL WHERE o.id IN :ids")
+    int releaseClaims(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Elimina los eventos publicados antes de la fecha indicada.
+     *
+     * @param cutoff Fecha límite de retención.
+     * @return Cantidad de eventos eliminados.
+     */
+    @Modifying
+    @Query("DELETE FROM NotificacionOutbox o WHERE o.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
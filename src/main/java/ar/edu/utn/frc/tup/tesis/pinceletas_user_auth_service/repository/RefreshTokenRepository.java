@@ -0,0 +1,72 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.repository;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repositorio para gestionar operaciones de base de datos con refresh tokens.
+ * Las búsquedas y limpiezas se resuelven con los índices sobre el digest, la familia y la expiración.
+ */
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Busca un refresh token por el digest de su valor.
+     *
+     * @param tokenHash Digest SHA-256 del token.
+     * @return Optional con el token si existe.
+     */
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Marca un token como usado solo si todavía no fue usado ni revocado.
+     * La condición en el WHERE hace que, ante dos canjes concurrentes del mismo token,
+     * solo uno de ellos actualice la fila.
+     *
+     * @param id ID del token.
+     * @return 1 si este llamado canjeó el token, 0 si ya estaba usado o revocado.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshToken r SET r.used = true WHERE r.id = :id AND r.used = false AND r.revoked = false")
+    int markUsed(@Param("id") Long id);
+
+    /**
+     * Revoca todos los tokens de una familia.
+     *
+     * @param familyId Identificador de la familia.
+     * @return Cantidad de tokens revocados.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.familyId = :familyId AND r.revoked = false")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    /**
+     * Revoca todos los tokens vigentes de un usuario, de todas sus familias.
+     *
+     * @param userId ID del usuario.
+     * @return Cantidad de tokens revocados.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.userId = :userId AND r.revoked = false")
+    int revokeAllForUser(@Param("userId") Long userId);
+
+    /**
+     * Elimina todos los tokens que hayan expirado antes de la fecha especificada.
+     *
+     * @param now Fecha y hora actual para comparar con la expiración.
+     * @return Cantidad de tokens eliminados.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :now")
+    int deleteExpiredTokens(@Param("now") LocalDateTime now);
+}
@@ -1,15 +1,19 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.repository;
 
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserSummary;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.model.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -27,6 +31,46 @@ public interface UserRepository extends JpaRepository<UserEntity, Long>{
      */
     Optional<UserEntity> findByEmail(String email);
 
+    /**
+     * Obtiene los datos básicos de un usuario por su email, sin cargar la entidad completa.
+     *
+     * @param email Email del usuario a buscar.
+     * @return Optional con la proyección del usuario si existe.
+     */
+    @Query("SELECT new ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserSummary(" +
+            "u.id, u.email, u.nombre, u.apellido, u.role) FROM UserEntity u WHERE u.email = :email")
+    Optional<UserSummary> findSummaryByEmail(@Param("email") String email);
+
+    /**
+     * Obtiene los datos básicos de un usuario por su ID, sin cargar la entidad completa.
+     *
+     * @param id ID del usuario a buscar.
+     * @return Optional con la proyección del usuario si existe.
+     */
+    @Query("SELECT new ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserSummary(" +
+            "u.id, u.email, u.nombre, u.apellido, u.role) FROM UserEntity u WHERE u.id = :id")
+    Optional<UserSummary> findSummaryById(@Param("id") Long id);
+
+    /**
+     * Obtiene los datos básicos de un conjunto de usuarios por ID en una sola consulta.
+     *
+     * @param ids IDs de los usuarios a buscar.
+     * @return Proyecciones de los usuarios existentes.
+     */
+    @Query("SELECT new ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserSummary(" +
+            "u.id, u.email, u.nombre, u.apellido, u.role) FROM UserEntity u WHERE u.id IN :ids")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Obtiene los datos básicos de un conjunto de usuarios por email en una sola consulta.
+     *
+     * @param emails Emails de los usuarios a buscar.
+     * @return Proyecciones de los usuarios existentes.
+     */
+    @Query("SELECT new ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserSummary(" +
+            "u.id, u.email, u.nombre, u.apellido, u.role) FROM UserEntity u WHERE u.email IN :emails")
+    List<UserSummary> findSummariesByEmailIn(@Param("emails") Collection<String> emails);
+
     /**
      * Verifica si existe un usuario con el email especificado.
      *
@@ -40,10 +84,102 @@ public interface UserRepository extends JpaRepository<UserEntity, Long>{
      * Operación batch para desactivación sin cargar la entidad completa.
      *
      * @param email Email del usuario a desactivar.
+     * @return Cantidad de filas actualizadas (0 si el usuario no existe).
      */
-    @Modifying
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("UPDATE UserEntity u SET u.activo = false WHERE u.email = :email")
-    void deactivateByEmail(@Param("email") String email);
+    int deactivateByEmail(@Param("email") String email);
+
+    /**
+     * Actualiza solo los datos básicos del perfil de un usuario y devuelve la fila resultante
+     * en el mismo round-trip. Un email ya registrado viola la restricción única de email.
+     *
+     * @param email Email actual del usuario.
+     * @param nombre Nuevo nombre.
+     * @param apellido Nuevo apellido.
+     * @param newEmail Nuevo email.
+     * @param telefono Nuevo teléfono.
+     * @return Usuario actualizado, leído con RETURNING en la misma sentencia (vacío si no existe).
+     */
+    @Transactional
+    @Query(nativeQuery = true, value = "UPDATE users SET nombre = :nombre, apellido = :apellido, email = :newEmail, " +
+            "telefono = :telefono WHERE email = :email RETURNING *")
+    Optional<UserEntity> updateProfile(@Param("email") String email,
+                      @Param("nombre") String nombre,
+                      @Param("apellido") String apellido,
+                      @Param("newEmail") String newEmail,
+                      @Param("telefono") String telefono);
+
+    /**
+     * Actualiza solo las columnas de dirección de un usuario y devuelve la fila resultante
+     * en el mismo round-trip.
+     *
+     * @return Usuario actualizado, leído con RETURNING en la misma sentencia (vacío si no existe).
+     */
+    @Transactional
+    @Query(nativeQuery = true, value = "UPDATE users SET calle = :calle, numero = :numero, ciudad = :ciudad, " +
+            "piso = :piso, barrio = :barrio, pais = :pais, provincia = :provincia, codigo_postal = :codigoPostal, " +
+            "manzana = :manzana, lote = :lote WHERE email = :email RETURNING *")
+    Optional<UserEntity> updateAddress(@Param("email") String email,
+                      @Param("calle") String calle,
+                      @Param("numero") String numero,
+                      @Param("ciudad") String ciudad,
+                      @Param("piso") String piso,
+                      @Param("barrio") String barrio,
+                      @Param("pais") String pais,
+                      @Param("provincia") String provincia,
+                      @Param("codigoPostal") String codigoPostal,
+                      @Param("manzana") String manzana,
+                      @Param("lote") String lote);
+
+    /**
+     * Obtiene solo el hash de la contraseña de un usuario, sin cargar la entidad completa.
+     *
+     * @param email Email del usuario.
+     * @return Optional con el hash de la contraseña si el usuario existe.
+     */
+    @Query("SELECT u.password FROM UserEntity u WHERE u.email = :email")
+    Optional<String> findPasswordByEmail(@Param("email") String email);
+
+    /**
+     * Actualiza solo la contraseña de un usuario.
+     *
+     * @param email Email del usuario.
+     * @param password Nuevo hash de la contraseña.
+     * @return Cantidad de filas actualizadas (0 si el usuario no existe).
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserEntity u SET u.password = :password WHERE u.email = :email")
+    int updatePassword(@Param("email") String email, @Param("password") String password);
+
+    /**
+     * Reemplaza el hash de la contraseña solo si no cambió desde que se leyó.
+     * Evita que un rehash en segundo plano pise un cambio de contraseña concurrente.
+     *
+     * @param email Email del usuario.
+     * @param currentHash Hash leído al verificar la contraseña.
+     * @param newHash Nuevo hash de la misma contraseña.
+     * @return 1 si se actualizó, 0 si el hash había cambiado o el usuario no existe.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserEntity u SET u.password = :newHash WHERE u.email = :email AND u.password = :currentHash")
+    int updatePasswordIfUnchanged(@Param("email") String email,
+                                  @Param("currentHash") String currentHash,
+                                  @Param("newHash") String newHash);
+
+    /**
+     * Marca los términos y condiciones como aceptados sin cargar la entidad.
+     *
+     * @param id ID del usuario.
+     * @return Cantidad de filas actualizadas (0 si el usuario no existe).
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserEntity u SET u.terminosAceptados = true WHERE u.id = :id")
+    int markTermsAccepted(@Param("id") Long id);
 
     /**
      * Busca un usuario por su identificador único de Firebase.
@@ -61,6 +197,14 @@ public interface UserRepository extends JpaRepository<UserEntity, Long>{
      */
     boolean existsByFirebaseUid(String firebaseUid);
 
+    /**
+     * Obtiene los emails de los usuarios desactivados.
+     *
+     * @return Emails de los usuarios con activo = false.
+     */
+    @Query("SELECT u.email FROM UserEntity u WHERE u.activo = false")
+    List<String> findDeactivatedEmails();
+
     /**
      * Cuenta la cantidad de usuarios por estado de activación.
      *
@@ -77,6 +221,74 @@ public interface UserRepository extends JpaRepository<UserEntity, Long>{
     @Query("UPDATE UserEntity u SET u.activo = false WHERE u.lastActivityAt < :cutoffDate AND u.activo = true")
     int deactivateInactiveUsers(@Param("cutoffDate") LocalDateTime cutoffDate);
 
+    /**
+     * Actualiza en una sola sentencia la última actividad de un conjunto de usuarios,
+     * cada uno con su propia fecha: emails[i] recibe activityAts[i].
+     * No retrocede la fecha de usuarios con una actividad posterior ya persistida.
+     *
+     * @param emails Emails de los usuarios con actividad.
+     * @param activityAts Fecha y hora de actividad de cada usuario, en el mismo orden que emails.
+     * @return Cantidad de usuarios actualizados.
+     */
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true, value = "UPDATE users u SET last_activity_at = v.activity_at " +
+            "FROM unnest(CAST(:emails AS varchar[]), CAST(:activityAts AS timestamp[])) AS v(email, activity_at) " +
+            "WHERE u.email = v.email AND (u.last_activity_at IS NULL OR u.last_activity_at < v.activity_at)")
+    int updateLastActivityAt(@Param("emails") String[] emails,
+                             @Param("activityAts") LocalDateTime[] activityAts);
+
+    /**
+     * Crea o actualiza un usuario de Firebase en una única sentencia (un solo round-trip).
+     * Si existe un usuario con el UID actualiza displayName y provider; si no, y existe uno
+     * con el email, además le asigna el UID; si no existe ninguno lo crea con rol USER.
+     * Registra lastActivityAt solo si el usuario está activo, para que un usuario desactivado
+     * no parezca activo ante la desactivación automática. El ON CONFLICT sobre email cubre el alta
+     * concurrente del mismo usuario.
+     *
+     * @param uid Identificador único de Firebase.
+     * @param email Email del usuario.
+     * @param displayName Nombre para mostrar.
+     * @param nombre Nombre a usar si el usuario se crea.
+     * @param apellido Apellido a usar si el usuario se crea.
+     * @param provider Proveedor de autenticación.
+     * @param createdAt Fecha de creación a usar si el usuario se crea.
+     * @param activityAt Fecha y hora de actividad a registrar.
+     * @return Usuario creado o actualizado.
+     */
+    @Transactional
+    @Query(nativeQuery = true, value = "WITH by_uid AS (" +
+            "  UPDATE users SET display_name = :displayName, provider = :provider," +
+            "  last_activity_at = CASE WHEN activo THEN :activityAt ELSE last_activity_at END" +
+            "  WHERE firebase_uid = :uid" +
+            "  RETURNING *" +
+            "), by_email AS (" +
+            "  UPDATE users SET firebase_uid = :uid, display_name = :displayName, provider = :provider," +
+            "  last_activity_at = CASE WHEN activo THEN :activityAt ELSE last_activity_at END" +
+            "  WHERE email = :email AND NOT EXISTS (SELECT 1 FROM by_uid)" +
+            "  RETURNING *" +
+            "), inserted AS (" +
+            "  INSERT INTO users (firebase_uid, email, display_name, nombre, apellido, telefono, provider, role," +
+            "  activo, terminos_aceptados, created_at, last_activity_at)" +
+            "  SELECT :uid, :email, CAST(:displayName AS varchar), :nombre, :apellido, '', :provider, 'USER'," +
+            "  true, false, :createdAt, :activityAt" +
+            "  WHERE NOT EXISTS (SELECT 1 FROM by_uid) AND NOT EXISTS (SELECT 1 FROM by_email)" +
+            "  ON CONFLICT (email) DO UPDATE SET firebase_uid = EXCLUDED.firebase_uid," +
+            "  display_name = EXCLUDED.display_name, provider = EXCLUDED.provider," +
+            "  last_activity_at = CASE WHEN users.activo THEN EXCLUDED.last_activity_at" +
+            "  ELSE users.last_activity_at END" +
+            "  RETURNING *" +
+            ") " +
+            "SELECT * FROM by_uid UNION ALL SELECT * FROM by_email UNION ALL SELECT * FROM inserted")
+    UserEntity upsertFirebaseUser(@Param("uid") String uid,
+                                  @Param("email") String email,
+                                  @Param("displayName") String displayName,
+                                  @Param("nombre") String nombre,
+                                  @Param("apellido") String apellido,
+                                  @Param("provider") String provider,
+                                  @Param("createdAt") Instant createdAt,
+                                  @Param("activityAt") LocalDateTime activityAt);
+
     /**
      * Encuentra usuarios activos con última actividad anterior a una fecha.
      */
@@ -0,0 +1,141 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PasswordEncoder que ejecuta el hashing y la verificación de contraseñas en un pool
+ * dedicado de tamaño acotado.
+ * El costo de CPU de BCrypt queda aislado de los threads del servidor: como mucho poolSize
+ * operaciones corren a la vez y queueCapacity esperan turno. Cuando la cola está llena, o la
+ * espera supera el timeout, se rechaza inmediatamente con PasswordHashingRejectedException
+ * en lugar de acumular requests bloqueados que saturen el pool de Tomcat.
+ * El uso del pool se publica como métricas bajo el nombre "password.hashing".
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    /** Nombre con el que se publican las métricas del pool. */
+    static final String METRIC_NAME = "password.hashing";
+
+    /** Codificador real que realiza el hashing. */
+    private final PasswordEncoder delegate;
+
+    /** Pool dedicado al hashing de contraseñas. */
+    private final ThreadPoolExecutor executor;
+
+    /** Tiempo máximo de espera de cada operación, en milisegundos. */
+    private final long timeoutMs;
+
+    /** Operaciones rechazadas por saturación o timeout. */
+    private final Counter rejected;
+
+    /**
+     * Construye el codificador con un pool y una cola acotados.
+     *
+     * @param delegate Codificador real (por ejemplo, BCrypt).
+     * @param poolSize Cantidad de threads dedicados al hashing.
+     * @param queueCapacity Cantidad máxima de operaciones en espera.
+     * @param timeoutMs Tiempo máximo de espera de cada operación en milisegundos.
+     * @param meterRegistry Registro de métricas de la aplicación.
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity,
+                                  long timeoutMs, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeoutMs = timeoutMs;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.rejected = Counter.builder(METRIC_NAME + ".rejected")
+                .description("Operaciones de hashing rechazadas por saturación del pool")
+                .register(meterRegistry);
+        new ExecutorServiceMetrics(executor, METRIC_NAME, Tags.empty()).bindTo(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Solo inspecciona el hash almacenado, por lo que no pasa por el pool.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Detiene el pool al cerrar el contexto de la aplicación.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Ejecuta una operación en el pool y espera su resultado con el timeout configurado.
+     */
+    private <T> T execute(Callable<T> operation) {
+        Future<T> future;
+        try {
+            future = executor.submit(operation);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Pool de hashing saturado: {} activos, {} en cola", executor.getActiveCount(), executor.getQueue().size());
+            throw new PasswordHashingRejectedException("El servicio está ocupado. Intenta nuevamente en unos segundos.");
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            log.warn("Timeout de {} ms esperando el hashing de una contraseña", timeoutMs);
+            throw new PasswordHashingRejectedException("El servicio está ocupado. Intenta nuevamente en unos segundos.");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("Operación de hashing interrumpida");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Error en el hashing de la contraseña", e.getCause());
+        }
+    }
+
+    /**
+     * Crea threads daemon con nombre identificable para diagnóstico.
+     */
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security;
 
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.UserActivityTracker;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,14 +23,19 @@ import java.util.Collections;
  * Filtro de autenticación JWT para Spring Security.
  * Intercepta todas las peticiones HTTP y valida el token JWT presente
  * en el header Authorization. Si el token es válido, establece la autenticación
- * en el contexto de seguridad de Spring.
+ * en el contexto de seguridad de Spring y registra (muestreada) la actividad del usuario.
+ * Los tokens de usuarios desactivados o eliminados se rechazan sin consultar la base de datos.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
-    /** Servicio para operaciones de validación y extracción de datos del JWT. */
-    private final JwtService jwtService;
+    /** Verificación de tokens con caché para evitar repetir la verificación de la firma. */
+    private final VerifiedTokenCache verifiedTokenCache;
+    /** Registro muestreado de la actividad de los usuarios autenticados. */
+    private final UserActivityTracker userActivityTracker;
+    /** Registro en memoria de usuarios desactivados o eliminados. */
+    private final UserRevocationRegistry userRevocationRegistry;
 
     /**
      * Método principal del filtro que procesa cada petición HTTP.
@@ -61,9 +67,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            if (jwtService.isTokenValid(token)) {
-                String email = jwtService.extractUsername(token);
-                String role = jwtService.extractRole(token);
+            TokenVerificationResult result = verifiedTokenCache.verify(token);
+
+            if (result.isValid() && userRevocationRegistry.isRevoked(result.principal().subject(),
+                    result.principal().issuedAt())) {
+                log.warn("Token de usuario revocado para request: {}", requestPath);
+            } else if (result.isValid()) {
+                JwtPrincipal principal = result.principal();
+                String email = principal.subject();
+                String role = principal.role();
 
                 log.debug("Token válido para usuario: {} con rol: {}", email, role);
 
@@ -81,10 +93,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 );
 
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                userActivityTracker.markActivity(email);
 
                 log.debug("Usuario autenticado exitosamente: {}", email);
             } else {
-                log.warn("Token inválido para request: {}", requestPath);
+                log.warn("Token rechazado ({}) para request: {}", result.failureReason(), requestPath);
             }
         } catch (Exception e) {
             log.error("Error procesando JWT para {}: {}", requestPath, e.getMessage());
@@ -132,6 +145,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 path.startsWith("/v3/api-docs/") ||
                 path.startsWith("/h2-console/") ||
                 path.equals("/health") ||
-                path.equals("/actuator/health");
+                path.equals("/.well-known/jwks.json") ||
+                path.equals("/actuator/health") ||
+                path.startsWith("/actuator/health/");
     }
 }
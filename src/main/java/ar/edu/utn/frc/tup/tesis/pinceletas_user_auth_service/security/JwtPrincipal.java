@@ -0,0 +1,14 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security;
+
+import java.time.Instant;
+
+/**
+ * Identidad inmutable extraída de un token JWT verificado.
+ *
+ * @param subject Email del usuario (subject del token).
+ * @param role Rol del usuario contenido en el claim "role".
+ * @param issuedAt Fecha de emisión del token.
+ * @param expiresAt Fecha de expiración del token.
+ */
+public record JwtPrincipal(String subject, String role, Instant issuedAt, Instant expiresAt) {
+}
@@ -1,8 +1,9 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
@@ -16,15 +17,57 @@ import java.util.Date;
 @Service
 @Slf4j
 public class JwtService {
+    /** Material de firma y verificación (HS256 compartido o ES256 con rotación de claves). */
+    private final JwtSigningKeys signingKeys;
+
     /**
-     * Genera la clave de firma HMAC-SHA256 a partir de la clave secreta.
-     * Convierte la clave secreta definida en SecurityConstants a una clave
-     * criptográfica válida para firmar y validar tokens JWT.
+     * Parser JWT preconstruido que resuelve la clave de verificación según el header del token.
+     * Los parsers de jjwt son inmutables y thread-safe, por lo que se reutiliza en cada request
+     * en lugar de construir uno nuevo.
+     */
+    private final JwtParser jwtParser;
+
+    /**
+     * Vigencia de los access tokens en milisegundos.
+     * Nunca supera SecurityConstants.JWT_EXPIRATION, que acota la caché de tokens verificados
+     * y el registro de revocaciones.
+     */
+    private final long accessTokenTtlMs;
+
+    /**
+     * Construye el servicio con el material de firma configurado y la vigencia máxima de tokens.
      *
-     * @return Clave criptográfica para firmar/validar tokens.
+     * @param signingKeys Claves para firmar y verificar tokens.
      */
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SecurityConstants.JWT_SECRET.getBytes());
+    public JwtService(JwtSigningKeys signingKeys) {
+        this(signingKeys, SecurityConstants.JWT_EXPIRATION);
+    }
+
+    /**
+     * Construye el servicio con el material de firma y la vigencia de los access tokens configurados.
+     * Los access tokens son de corta duración: los clientes los renuevan con un refresh token
+     * sin repetir la verificación de contraseña ni de Firebase.
+     *
+     * @param signingKeys Claves para firmar y verificar tokens.
+     * @param accessTokenTtlMs Vigencia de los access tokens en milisegundos.
+     */
+    @Autowired
+    public JwtService(JwtSigningKeys signingKeys,
+                      @Value("${app.jwt.access-token-ttl-ms:900000}") long accessTokenTtlMs) {
+        if (accessTokenTtlMs <= 0) {
+            throw new IllegalStateException("La vigencia de los access tokens debe ser positiva");
+        }
+        this.signingKeys = signingKeys;
+        this.accessTokenTtlMs = Math.min(accessTokenTtlMs, SecurityConstants.JWT_EXPIRATION);
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    @SuppressWarnings("rawtypes")
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return signingKeys.resolveVerificationKey(header);
+                    }
+                })
+                .build();
     }
 
     /**
@@ -37,12 +80,16 @@ public class JwtService {
      * @return Token JWT firmado en formato String.
      */
     public String generateToken(String email, String role) {
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(email)
                 .claim("role", role)
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + SecurityConstants.JWT_EXPIRATION))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + accessTokenTtlMs));
+        if (signingKeys.getActiveKeyId() != null) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, signingKeys.getActiveKeyId());
+        }
+        return builder
+                .signWith(signingKeys.getSigningKey(), signingKeys.getAlgorithm())
                 .compact();
     }
 
@@ -76,7 +123,18 @@ public class JwtService {
      * @return Rol del usuario o "USER" si no está definido.
      */
     public String extractRole(String token) {
-        Object role = getClaims(token).get("role");
+        return extractRole(getClaims(token));
+    }
+
+    /**
+     * Extrae el rol del usuario desde claims ya verificados.
+     * Si el claim "role" no existe o es null, retorna "USER" como valor por defecto.
+     *
+     * @param claims Claims verificados del token.
+     * @return Rol del usuario o "USER" si no está definido.
+     */
+    private String extractRole(Claims claims) {
+        Object role = claims.get("role");
         return role != null ? role.toString() : "USER";
     }
 
@@ -88,15 +146,43 @@ public class JwtService {
      * @return true si el token es válido, false en caso contrario.
      */
     public boolean isTokenValid(String token) {
+        TokenVerificationResult result = verify(token);
+        if (!result.isValid()) {
+            log.warn("Token rechazado: {}", result.failureReason());
+        }
+        return result.isValid();
+    }
+
+    /**
+     * Verifica un token JWT en una única pasada y extrae su identidad.
+     * Valida la firma, el formato y la vigencia del token una sola vez, y retorna
+     * el principal inmutable o el motivo tipado del rechazo.
+     *
+     * @param token Token JWT a verificar.
+     * @return Resultado de la verificación con el principal o el motivo del fallo.
+     */
+    public TokenVerificationResult verify(String token) {
         try {
-            getClaims(token);
-            return !isTokenExpired(token);
+            Claims claims = getClaims(token);
+            return TokenVerificationResult.valid(new JwtPrincipal(
+                    claims.getSubject(),
+                    extractRole(claims),
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+            ));
         } catch (ExpiredJwtException e) {
-            log.warn("Token expirado: {}", e.getMessage());
-            return false;
+            return TokenVerificationResult.invalid(TokenFailureReason.EXPIRED);
+        } catch (io.jsonwebtoken.security.SecurityException e) {
+            return TokenVerificationResult.invalid(TokenFailureReason.INVALID_SIGNATURE);
+        } catch (MalformedJwtException e) {
+            return TokenVerificationResult.invalid(TokenFailureReason.MALFORMED);
+        } catch (UnsupportedJwtException e) {
+            return TokenVerificationResult.invalid(TokenFailureReason.UNSUPPORTED);
+        } catch (IllegalArgumentException e) {
+            return TokenVerificationResult.invalid(TokenFailureReason.EMPTY);
         } catch (JwtException e) {
-            log.error("Token inválido: {}", e.getMessage());
-            return false;
+            log.debug("Token inválido: {}", e.getMessage());
+            return TokenVerificationResult.invalid(TokenFailureReason.MALFORMED);
         }
     }
 
@@ -118,21 +204,6 @@ public class JwtService {
      * @return Claims contenidos en el token.
      */
     private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    /**
-     * Verifica si un token JWT ha expirado.
-     * Compara la fecha de expiración del token con la fecha actual del sistema.
-     *
-     * @param token Token JWT a verificar.
-     * @return true si el token ha expirado, false si aún es válido.
-     */
-    private boolean isTokenExpired(String token) {
-        return getClaims(token).getExpiration().before(new Date());
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 }
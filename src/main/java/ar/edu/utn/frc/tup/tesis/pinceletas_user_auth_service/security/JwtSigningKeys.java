@@ -0,0 +1,244 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.*;
+
+/**
+ * Material criptográfico para firmar y verificar tokens JWT.
+ * Soporta el modo simétrico HS256 con la clave compartida de SecurityConstants y el modo
+ * asimétrico ES256 con rotación de claves: los tokens se firman con la clave activa y
+ * llevan su identificador en el header "kid", mientras que las claves públicas anteriores
+ * se siguen aceptando para verificar tokens emitidos antes de la rotación.
+ * Las claves públicas se publican como JWKS para que otros microservicios verifiquen
+ * los tokens localmente sin conocer ningún secreto.
+ */
+@Component
+@Slf4j
+public class JwtSigningKeys {
+
+    /** Longitud en bytes de cada coordenada de un punto de la curva P-256. */
+    private static final int P256_COORDINATE_LENGTH = 32;
+
+    /** Algoritmo con el que se firman los tokens nuevos (HS256 o ES256). */
+    private final SignatureAlgorithm algorithm;
+
+    /** Clave HMAC derivada de la clave secreta compartida. */
+    private final Key hmacKey;
+
+    /** Indica si se aceptan tokens HS256 cuando el modo activo es ES256. */
+    private final boolean acceptHs256;
+
+    /** Identificador de la clave EC activa, o null en modo HS256. */
+    private final String activeKeyId;
+
+    /** Clave privada EC activa, o null en modo HS256. */
+    private final PrivateKey activePrivateKey;
+
+    /** Claves públicas EC aceptadas para verificación, indexadas por kid. */
+    private final Map<String, ECPublicKey> verificationKeys;
+
+    /**
+     * Construye el material de firma a partir de la configuración.
+     * En modo ES256, si no hay claves configuradas se genera un par efímero, válido
+     * solo mientras viva la instancia (útil en desarrollo, no en producción).
+     *
+     * @param algorithm Algoritmo de firma de los tokens nuevos (HS256 o ES256).
+     * @param acceptHs256 Si se aceptan tokens HS256 cuando el modo activo es ES256.
+     * @param activeKeyId Identificador (kid) de la clave EC activa.
+     * @param privateKey Clave privada EC activa en formato PKCS#8 codificada en Base64.
+     * @param publicKey Clave pública EC activa en formato X.509 codificada en Base64.
+     * @param previousPublicKeys Claves públicas retiradas aún válidas, como "kid:base64,kid:base64".
+     */
+    public JwtSigningKeys(@Value("${app.jwt.algorithm:HS256}") String algorithm,
+                          @Value("${app.jwt.accept-hs256:true}") boolean acceptHs256,
+                          @Value("${app.jwt.ec.key-id:}") String activeKeyId,
+                          @Value("${app.jwt.ec.private-key:}") String privateKey,
+                          @Value("${app.jwt.ec.public-key:}") String publicKey,
+                          @Value("${app.jwt.ec.previous-public-keys:}") String previousPublicKeys) {
+        this.algorithm = SignatureAlgorithm.forName(algorithm.trim().toUpperCase());
+        if (this.algorithm != SignatureAlgorithm.HS256 && this.algorithm != SignatureAlgorithm.ES256) {
+            throw new IllegalStateException("Algoritmo JWT no soportado: " + algorithm);
+        }
+        this.hmacKey = Keys.hmacShaKeyFor(SecurityConstants.JWT_SECRET.getBytes());
+        this.acceptHs256 = this.algorithm == SignatureAlgorithm.HS256 || acceptHs256;
+
+        Map<String, ECPublicKey> keys = new LinkedHashMap<>();
+        if (this.algorithm == SignatureAlgorithm.ES256) {
+            if (StringUtils.hasText(privateKey) && StringUtils.hasText(publicKey)) {
+                this.activeKeyId = StringUtils.hasText(activeKeyId) ? activeKeyId : "default";
+                this.activePrivateKey = decodePrivateKey(privateKey);
+                keys.put(this.activeKeyId, decodePublicKey(publicKey));
+            } else {
+                log.warn("No hay claves EC configuradas: se genera un par efímero para ES256. "
+                        + "Los tokens dejarán de ser válidos al reiniciar la instancia.");
+                KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+                this.activeKeyId = UUID.randomUUID().toString();
+                this.activePrivateKey = keyPair.getPrivate();
+                keys.put(this.activeKeyId, (ECPublicKey) keyPair.getPublic());
+            }
+            parsePreviousPublicKeys(previousPublicKeys, keys);
+        } else {
+            this.activeKeyId = null;
+            this.activePrivateKey = null;
+        }
+        this.verificationKeys = Collections.unmodifiableMap(keys);
+    }
+
+    /**
+     * Crea el material de firma en modo HS256 con la clave compartida.
+     *
+     * @return JwtSigningKeys configurado para HS256.
+     */
+    public static JwtSigningKeys hmac() {
+        return new JwtSigningKeys("HS256", true, "", "", "", "");
+    }
+
+    /**
+     * Algoritmo con el que se firman los tokens nuevos.
+     *
+     * @return Algoritmo de firma activo.
+     */
+    public SignatureAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Clave con la que se firman los tokens nuevos.
+     *
+     * @return Clave privada EC activa en modo ES256, o la clave HMAC en modo HS256.
+     */
+    public Key getSigningKey() {
+        return algorithm == SignatureAlgorithm.ES256 ? activePrivateKey : hmacKey;
+    }
+
+    /**
+     * Identificador de la clave con la que se firman los tokens nuevos.
+     *
+     * @return kid de la clave activa, o null en modo HS256.
+     */
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    /**
+     * Resuelve la clave de verificación correspondiente al header de un token.
+     *
+     * @param header Header JWS del token a verificar.
+     * @return Clave con la que verificar la firma del token.
+     * @throws SignatureException si el kid no corresponde a ninguna clave conocida.
+     * @throws UnsupportedJwtException si el algoritmo del token no está aceptado.
+     */
+    @SuppressWarnings("rawtypes")
+    public Key resolveVerificationKey(JwsHeader header) {
+        String headerAlgorithm = header.getAlgorithm();
+        if (SignatureAlgorithm.HS256.getValue().equals(headerAlgorithm) && acceptHs256) {
+            return hmacKey;
+        }
+        if (SignatureAlgorithm.ES256.getValue().equals(headerAlgorithm) && !verificationKeys.isEmpty()) {
+            ECPublicKey key = verificationKeys.get(header.getKeyId());
+            if (key == null) {
+                throw new SignatureException("Clave de verificación desconocida: " + header.getKeyId());
+            }
+            return key;
+        }
+        throw new UnsupportedJwtException("Algoritmo de firma no aceptado: " + headerAlgorithm);
+    }
+
+    /**
+     * Construye la representación JWK de las claves públicas aceptadas.
+     * En modo HS256 la lista está vacía, ya que la clave simétrica nunca se publica.
+     *
+     * @return Lista de claves públicas en formato JWK.
+     */
+    public List<Map<String, Object>> getPublicJwks() {
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        verificationKeys.forEach((kid, key) -> {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("kid", kid);
+            jwk.put("use", "sig");
+            jwk.put("alg", SignatureAlgorithm.ES256.getValue());
+            jwk.put("x", encodeCoordinate(key.getW().getAffineX()));
+            jwk.put("y", encodeCoordinate(key.getW().getAffineY()));
+            jwks.add(jwk);
+        });
+        return jwks;
+    }
+
+    /**
+     * Agrega las claves públicas retiradas con el formato "kid:base64,kid:base64".
+     */
+    private static void parsePreviousPublicKeys(String previousPublicKeys, Map<String, ECPublicKey> keys) {
+        if (!StringUtils.hasText(previousPublicKeys)) {
+            return;
+        }
+        for (String entry : previousPublicKeys.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalStateException("Formato inválido en app.jwt.ec.previous-public-keys: " + entry);
+            }
+            keys.putIfAbsent(entry.substring(0, separator).trim(),
+                    decodePublicKey(entry.substring(separator + 1).trim()));
+        }
+    }
+
+    /**
+     * Decodifica una clave privada EC en formato PKCS#8 codificada en Base64.
+     */
+    private static PrivateKey decodePrivateKey(String base64) {
+        try {
+            return KeyFactory.getInstance("EC")
+                    .generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(base64.trim())));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Clave privada EC inválida", e);
+        }
+    }
+
+    /**
+     * Decodifica una clave pública EC P-256 en formato X.509 codificada en Base64.
+     */
+    private static ECPublicKey decodePublicKey(String base64) {
+        try {
+            PublicKey key = KeyFactory.getInstance("EC")
+                    .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(base64.trim())));
+            ECPublicKey ecKey = (ECPublicKey) key;
+            if (ecKey.getParams().getCurve().getField().getFieldSize() != P256_COORDINATE_LENGTH * 8) {
+                throw new IllegalStateException("La clave pública EC debe usar la curva P-256");
+            }
+            return ecKey;
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Clave pública EC inválida", e);
+        }
+    }
+
+    /**
+     * Codifica una coordenada de la curva como Base64URL de longitud fija, según RFC 7518.
+     */
+    private static String encodeCoordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[P256_COORDINATE_LENGTH];
+        int length = Math.min(bytes.length, P256_COORDINATE_LENGTH);
+        System.arraycopy(bytes, bytes.length - length, fixed, P256_COORDINATE_LENGTH - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+}
@@ -0,0 +1,54 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.Map;
+
+/**
+ * Clase de utilidad para construir el codificador de contraseñas de la aplicación.
+ * Los hashes nuevos se guardan con el prefijo del algoritmo configurado ({bcrypt}, {argon2}
+ * o {pbkdf2}); los hashes de cualquiera de los tres siguen verificándose. Los hashes BCrypt
+ * sin prefijo, anteriores a este esquema, se verifican con BCrypt.
+ * upgradeEncoding reporta los hashes de otro algoritmo o con parámetros distintos a los
+ * configurados, para rehashearlos en el próximo login.
+ */
+public final class PasswordEncoderFactory {
+
+    /** Algoritmos soportados para generar hashes nuevos. */
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+    public static final String PBKDF2 = "pbkdf2";
+
+    /**
+     * Construye un DelegatingPasswordEncoder que codifica con el algoritmo indicado.
+     *
+     * @param algorithm Algoritmo para los hashes nuevos: bcrypt, argon2 o pbkdf2.
+     * @param bcryptStrength Costo de BCrypt.
+     * @return Codificador de contraseñas delegante.
+     * @throws IllegalStateException si el algoritmo no está soportado.
+     */
+    public static PasswordEncoder create(String algorithm, int bcryptStrength) {
+        String idForEncode = algorithm == null ? BCRYPT : algorithm.trim().toLowerCase();
+        PasswordEncoder bcrypt = new WorkFactorBCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = Map.of(
+                BCRYPT, bcrypt,
+                ARGON2, Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8(),
+                PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(idForEncode)) {
+            throw new IllegalStateException("Algoritmo de contraseñas no soportado: " + algorithm);
+        }
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(idForEncode, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    /**
+     * Constructor privado para evitar instanciación de la clase de utilidad.
+     */
+    private PasswordEncoderFactory() {
+        throw new IllegalStateException("Utility class");
+    }
+}
@@ -0,0 +1,18 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security;
+
+/**
+ * Excepción lanzada cuando el pool de hashing de contraseñas está saturado
+ * y no puede aceptar más verificaciones.
+ * Se traduce a una respuesta 503 con el header Retry-After.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    /**
+     * Crea la excepción con un mensaje descriptivo.
+     *
+     * @param message Motivo del rechazo.
+     */
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,71 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+
+/**
+ * Filtro de autenticación de servicios internos.
+ * Los microservicios que consultan usuarios en bloque (POST /api/users/batch) se autentican
+ * con un token compartido en el header X-Service-Token y reciben el rol SERVICE.
+ * Si el token no está configurado, ninguna petición se autentica por esta vía y el endpoint
+ * queda reservado a administradores.
+ */
+@Component
+@Slf4j
+public class ServiceTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    /** Header con el token de servicio. */
+    public static final String SERVICE_TOKEN_HEADER = "X-Service-Token";
+
+    /** Rol otorgado a los servicios autenticados. */
+    public static final String SERVICE_ROLE = "SERVICE";
+
+    /** Token compartido esperado (vacío si la autenticación de servicios está deshabilitada). */
+    private final byte[] expectedToken;
+
+    /**
+     * Construye el filtro con el token de servicio configurado.
+     *
+     * @param serviceToken Token compartido con los microservicios (vacío para deshabilitar).
+     */
+    public ServiceTokenAuthenticationFilter(@Value("${app.security.service-token:}") String serviceToken) {
+        this.expectedToken = serviceToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        String token = request.getHeader(SERVICE_TOKEN_HEADER);
+        if (StringUtils.hasText(token) && expectedToken.length > 0) {
+            // Comparación en tiempo constante para no filtrar el token por diferencias de tiempo
+            if (MessageDigest.isEqual(expectedToken, token.getBytes(StandardCharsets.UTF_8))) {
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        SERVICE_ROLE.toLowerCase(), null,
+                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + SERVICE_ROLE)));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+            } else {
+                log.warn("Token de servicio inválido para request: {}", request.getRequestURI());
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,35 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Clase de utilidad para calcular digests de tokens.
+ * Permite indexar tokens en cachés o tablas sin almacenar su valor en claro.
+ */
+public final class TokenDigests {
+
+    /**
+     * Calcula el digest SHA-256 de un token y lo retorna en hexadecimal.
+     *
+     * @param token Token a resumir.
+     * @return Digest SHA-256 del token en formato hexadecimal.
+     */
+    public static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Algoritmo SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Constructor privado para evitar instanciación de la clase de utilidad.
+     */
+    private TokenDigests() {
+        throw new IllegalStateException("Utility class");
+    }
+}
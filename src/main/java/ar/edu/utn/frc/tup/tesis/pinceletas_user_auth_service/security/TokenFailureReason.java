@@ -0,0 +1,17 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security;
+
+/**
+ * Motivos por los que la verificación de un token JWT puede fallar.
+ */
+public enum TokenFailureReason {
+    /** El token superó su fecha de expiración. */
+    EXPIRED,
+    /** La firma del token no corresponde a la clave de verificación. */
+    INVALID_SIGNATURE,
+    /** El token no tiene un formato JWT válido. */
+    MALFORMED,
+    /** El token usa un formato o algoritmo no soportado. */
+    UNSUPPORTED,
+    /** El token está vacío o no contiene claims. */
+    EMPTY
+}
@@ -0,0 +1,40 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security;
+
+/**
+ * Resultado de verificar un token JWT en una única pasada.
+ * Contiene el principal del token si es válido, o el motivo del rechazo en caso contrario.
+ *
+ * @param principal Identidad extraída del token, o null si el token es inválido.
+ * @param failureReason Motivo del rechazo, o null si el token es válido.
+ */
+public record TokenVerificationResult(JwtPrincipal principal, TokenFailureReason failureReason) {
+
+    /**
+     * Crea un resultado exitoso.
+     *
+     * @param principal Identidad extraída del token.
+     * @return Resultado válido con el principal indicado.
+     */
+    public static TokenVerificationResult valid(JwtPrincipal principal) {
+        return new TokenVerificationResult(principal, null);
+    }
+
+    /**
+     * Crea un resultado de rechazo.
+     *
+     * @param reason Motivo por el que el token fue rechazado.
+     * @return Resultado inválido con el motivo indicado.
+     */
+    public static TokenVerificationResult invalid(TokenFailureReason reason) {
+        return new TokenVerificationResult(null, reason);
+    }
+
+    /**
+     * Indica si el token fue verificado exitosamente.
+     *
+     * @return true si el token es válido, false en caso contrario.
+     */
+    public boolean isValid() {
+        return principal != null;
+    }
+}
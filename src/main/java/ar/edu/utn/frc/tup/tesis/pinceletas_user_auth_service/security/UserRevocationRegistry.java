@@ -0,0 +1,99 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro en memoria de usuarios revocados (desactivados o eliminados).
+ * Permite que JwtAuthenticationFilter rechace en O(1) los tokens de usuarios revocados
+ * sin consultar la base de datos en cada request.
+ * Por cada email se guarda el instante de revocación: se rechazan los tokens emitidos hasta
+ * ese instante, mientras que los emitidos después (por ejemplo, si el email se vuelve a
+ * registrar) siguen siendo válidos. Como ningún token vive más que su expiración, las
+ * entradas se descartan una vez transcurrido ese tiempo.
+ * La comparación se hace con precisión de segundos, la misma del claim iat del JWT: los tokens
+ * emitidos dentro del mismo segundo de la revocación se aceptan, para no rechazar el login que
+ * sigue inmediatamente a una reactivación o a un nuevo registro del mismo email.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserRevocationRegistry {
+
+    /** Repositorio para cargar los usuarios desactivados al iniciar. */
+    private final UserRepository userRepository;
+
+    /** Instante de revocación indexado por email. */
+    private final ConcurrentHashMap<String, Instant> revokedAt = new ConcurrentHashMap<>();
+
+    /**
+     * Carga al iniciar los usuarios ya desactivados, cuyos tokens previos podrían seguir vigentes.
+     */
+    @PostConstruct
+    public void loadDeactivatedUsers() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        List<String> emails = userRepository.findDeactivatedEmails();
+        emails.forEach(email -> revokedAt.put(email, now));
+        log.info("Registro de revocación inicializado con {} usuarios desactivados", emails.size());
+    }
+
+    /**
+     * Revoca todos los tokens del usuario emitidos hasta este instante.
+     *
+     * @param email Email del usuario revocado.
+     */
+    public void revoke(String email) {
+        revoke(email, Instant.now());
+    }
+
+    /**
+     * Revoca todos los tokens del usuario emitidos hasta el instante indicado.
+     * Si ya había una revocación posterior, se conserva.
+     *
+     * @param email Email del usuario revocado.
+     * @param at Instante de la revocación.
+     */
+    void revoke(String email, Instant at) {
+        revokedAt.merge(email, at.truncatedTo(ChronoUnit.SECONDS), (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+    }
+
+    /**
+     * Indica si un token del usuario fue revocado.
+     *
+     * @param email Email del usuario (subject del token).
+     * @param issuedAt Fecha de emisión del token (puede ser null).
+     * @return true si el token se emitió en un segundo anterior al de la revocación.
+     */
+    public boolean isRevoked(String email, Instant issuedAt) {
+        Instant revoked = revokedAt.get(email);
+        return revoked != null && (issuedAt == null || issuedAt.truncatedTo(ChronoUnit.SECONDS).isBefore(revoked));
+    }
+
+    /**
+     * Descarta las revocaciones más antiguas que la expiración de los tokens,
+     * ya que todos los tokens que afectaban están vencidos.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.prune-interval-ms:600000}")
+    public void pruneExpired() {
+        Instant cutoff = Instant.now().minusMillis(SecurityConstants.JWT_EXPIRATION);
+        revokedAt.values().removeIf(revoked -> revoked.isBefore(cutoff));
+    }
+
+    /**
+     * Cantidad de usuarios con revocaciones vigentes.
+     *
+     * @return Tamaño del registro.
+     */
+    public int size() {
+        return revokedAt.size();
+    }
+}
@@ -0,0 +1,107 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caché acotada de tokens JWT ya verificados.
+ * Evita repetir el parseo y la verificación de la firma cuando un mismo token
+ * se presenta en requests sucesivos. Las entradas se indexan por el digest SHA-256
+ * del token y expiran, como máximo, en la fecha de expiración del propio token.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    /** Nombre con el que se publican las métricas de la caché. */
+    private static final String CACHE_NAME = "jwt.verified-tokens";
+
+    /** Servicio JWT utilizado para verificar los tokens que no están en caché. */
+    private final JwtService jwtService;
+
+    /** Caché de principals verificados indexada por digest del token. */
+    private final Cache<String, JwtPrincipal> cache;
+
+    /**
+     * Construye la caché con el tamaño máximo configurado y registra sus métricas
+     * de aciertos y fallos.
+     *
+     * @param jwtService Servicio para verificar tokens en caso de fallo de caché.
+     * @param meterRegistry Registro de métricas de la aplicación.
+     * @param maxSize Cantidad máxima de tokens verificados a mantener en memoria.
+     */
+    public VerifiedTokenCache(JwtService jwtService,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.jwt.cache.max-size:10000}") long maxSize) {
+        this.jwtService = jwtService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Verifica un token reutilizando el resultado de una verificación previa si existe.
+     * Solo los tokens válidos se almacenan; los rechazos se recalculan en cada intento.
+     *
+     * @param token Token JWT a verificar.
+     * @return Resultado de la verificación con el principal o el motivo del fallo.
+     */
+    public TokenVerificationResult verify(String token) {
+        String key = TokenDigests.sha256(token);
+        JwtPrincipal cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return TokenVerificationResult.valid(cached);
+        }
+
+        TokenVerificationResult result = jwtService.verify(token);
+        if (result.isValid()) {
+            cache.put(key, result.principal());
+        }
+        return result;
+    }
+
+    /**
+     * Retorna las estadísticas acumuladas de aciertos y fallos de la caché.
+     *
+     * @return Estadísticas de la caché.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Política de expiración que limita cada entrada a la vigencia de su token.
+     */
+    private static class TokenExpiry implements Expiry<String, JwtPrincipal> {
+
+        @Override
+        public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+            Instant expiresAt = principal.expiresAt();
+            long remainingMillis = expiresAt != null
+                    ? expiresAt.toEpochMilli() - System.currentTimeMillis()
+                    : SecurityConstants.JWT_EXPIRATION;
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCryptPasswordEncoder que marca para rehash todo hash cuyo costo difiera del configurado.
+ * BCryptPasswordEncoder solo reporta los hashes con costo menor; este codificador también
+ * reporta los de costo mayor, de modo que bajar el costo para reducir la latencia del login
+ * se aplica gradualmente sin un reset masivo de contraseñas.
+ */
+public class WorkFactorBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    /** Formato de un hash BCrypt: versión, costo de dos dígitos y 53 caracteres de salt y hash. */
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2([ayb])?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    /** Costo (log2 de las rondas) con el que se generan los hashes nuevos. */
+    private final int strength;
+
+    /**
+     * Crea el codificador con el costo indicado.
+     *
+     * @param strength Costo de BCrypt, entre 4 y 31.
+     */
+    public WorkFactorBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    /**
+     * Indica si el hash fue generado con un costo distinto al configurado.
+     *
+     * @param encodedPassword Hash BCrypt almacenado.
+     * @return true si el costo del hash difiere del configurado.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        return matcher.matches() && Integer.parseInt(matcher.group(2)) != strength;
+    }
+}
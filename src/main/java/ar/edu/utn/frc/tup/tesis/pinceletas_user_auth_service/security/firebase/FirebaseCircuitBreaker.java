@@ -0,0 +1,167 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker por conteo para la verificación de tokens de Firebase.
+ * Registra el resultado de las últimas windowSize llamadas y abre el circuito cuando, con al
+ * menos minimumCalls llamadas registradas, el porcentaje de fallas alcanza el umbral. Abierto,
+ * rechaza las llamadas sin ejecutarlas durante openDuration; luego deja pasar una única
+ * llamada de prueba (HALF_OPEN) que lo cierra si tiene éxito o lo vuelve a abrir si falla.
+ * Solo cuentan como fallas los problemas de infraestructura, no los tokens inválidos.
+ */
+public class FirebaseCircuitBreaker {
+
+    /**
+     * Estado del circuito.
+     */
+    public enum State {
+        /** Las llamadas se ejecutan normalmente. */
+        CLOSED,
+        /** Se está ejecutando la llamada de prueba tras el tiempo de apertura. */
+        HALF_OPEN,
+        /** Las llamadas se rechazan sin ejecutarse. */
+        OPEN
+    }
+
+    private final int minimumCalls;
+
+    private final int failureRateThreshold;
+
+    private final long openDurationNanos;
+
+    private final LongSupplier nanoClock;
+
+    /** Resultados de las últimas llamadas (true = falla), en un buffer circular. */
+    private final boolean[] window;
+
+    private int windowIndex;
+
+    private int recordedCalls;
+
+    private int failedCalls;
+
+    private State state = State.CLOSED;
+
+    private long openedAt;
+
+    /** Indica si la llamada de prueba del estado HALF_OPEN está en curso. */
+    private boolean probeInFlight;
+
+    /**
+     * Construye el circuit breaker.
+     *
+     * @param windowSize Cantidad de llamadas recientes consideradas.
+     * @param minimumCalls Llamadas mínimas registradas antes de evaluar el umbral.
+     * @param failureRateThreshold Porcentaje de fallas (1-100) que abre el circuito.
+     * @param openDuration Tiempo que el circuito permanece abierto.
+     * @param nanoClock Reloj monotónico en nanosegundos.
+     */
+    public FirebaseCircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold,
+                                  Duration openDuration, LongSupplier nanoClock) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize
+                || failureRateThreshold < 1 || failureRateThreshold > 100) {
+            throw new IllegalStateException("Configuración inválida del circuit breaker de Firebase");
+        }
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Indica si una llamada puede ejecutarse. En estado HALF_OPEN solo se permite la
+     * llamada de prueba.
+     *
+     * @return true si la llamada puede ejecutarse.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openDurationNanos) {
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                return false;
+            }
+            probeInFlight = true;
+            return true;
+        }
+        return state == State.CLOSED;
+    }
+
+    /**
+     * Registra una llamada exitosa. La llamada de prueba exitosa cierra el circuito.
+     */
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            state = State.CLOSED;
+            probeInFlight = false;
+            resetWindow();
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    /**
+     * Registra una llamada fallida. La llamada de prueba fallida vuelve a abrir el circuito.
+     */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recordedCalls >= minimumCalls && failedCalls * 100 >= failureRateThreshold * recordedCalls) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * Libera una llamada autorizada que no llegó a ejecutarse, sin registrar su resultado.
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+
+    /**
+     * Estado actual del circuito.
+     *
+     * @return Estado del circuito.
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (recordedCalls == window.length) {
+            if (window[windowIndex]) {
+                failedCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        window[windowIndex] = failed;
+        if (failed) {
+            failedCalls++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+        probeInFlight = false;
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        windowIndex = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+    }
+}
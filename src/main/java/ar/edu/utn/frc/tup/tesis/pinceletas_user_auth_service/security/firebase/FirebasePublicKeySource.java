@@ -0,0 +1,19 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase;
+
+import java.io.IOException;
+
+/**
+ * Fuente de las claves públicas de Firebase.
+ * Permite reemplazar el endpoint de Google por un conjunto de claves local en pruebas.
+ */
+@FunctionalInterface
+public interface FirebasePublicKeySource {
+
+    /**
+     * Obtiene el conjunto vigente de claves públicas.
+     *
+     * @return Claves públicas y su vigencia.
+     * @throws IOException si no se pudieron obtener o interpretar las claves.
+     */
+    FirebasePublicKeys fetch() throws IOException;
+}
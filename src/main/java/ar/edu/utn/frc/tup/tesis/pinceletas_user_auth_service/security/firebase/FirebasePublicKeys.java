@@ -0,0 +1,20 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase;
+
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Conjunto de claves públicas con las que Firebase firma los ID tokens.
+ *
+ * @param keys Claves públicas indexadas por kid.
+ * @param maxAge Vigencia del conjunto informada por el header Cache-Control.
+ * @param fetchedAt Instante en que se obtuvo el conjunto.
+ */
+public record FirebasePublicKeys(Map<String, PublicKey> keys, Duration maxAge, Instant fetchedAt) {
+
+    public FirebasePublicKeys {
+        keys = Map.copyOf(keys);
+    }
+}
@@ -0,0 +1,27 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase;
+
+/**
+ * Excepción lanzada cuando un ID token de Firebase no puede verificarse, ya sea porque
+ * es inválido o porque las claves públicas de Firebase no están disponibles.
+ */
+public class FirebaseTokenVerificationException extends RuntimeException {
+
+    /**
+     * Crea la excepción con un mensaje descriptivo.
+     *
+     * @param message Motivo del rechazo.
+     */
+    public FirebaseTokenVerificationException(String message) {
+        super(message);
+    }
+
+    /**
+     * Crea la excepción con un mensaje descriptivo y la causa original.
+     *
+     * @param message Motivo del rechazo.
+     * @param cause Excepción original.
+     */
+    public FirebaseTokenVerificationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,19 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase;
+
+/**
+ * Verificador de ID tokens emitidos por Firebase Authentication.
+ * La implementación se elige con la propiedad app.firebase.verification.mode:
+ * "local" (por defecto) verifica la firma con las claves públicas de Google precargadas
+ * y "sdk" delega en FirebaseAuth.verifyIdToken.
+ */
+public interface FirebaseTokenVerifier {
+
+    /**
+     * Verifica la firma, el emisor, la audiencia y la vigencia de un ID token de Firebase.
+     *
+     * @param idToken ID token enviado por el cliente.
+     * @return Datos del token verificado.
+     * @throws FirebaseTokenVerificationException si el token es inválido o no puede verificarse.
+     */
+    VerifiedFirebaseToken verify(String idToken);
+}
@@ -0,0 +1,29 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase;
+
+/**
+ * Excepción lanzada cuando un ID token no pudo verificarse por un problema de
+ * infraestructura (Firebase lento o caído, claves no disponibles, bulkhead saturado o
+ * circuito abierto) y no porque el token sea inválido.
+ * Se traduce a una respuesta 503 con el header Retry-After.
+ */
+public class FirebaseUnavailableException extends FirebaseTokenVerificationException {
+
+    /**
+     * Crea la excepción con un mensaje descriptivo.
+     *
+     * @param message Motivo del rechazo.
+     */
+    public FirebaseUnavailableException(String message) {
+        super(message);
+    }
+
+    /**
+     * Crea la excepción con un mensaje descriptivo y la causa original.
+     *
+     * @param message Motivo del rechazo.
+     * @param cause Excepción original.
+     */
+    public FirebaseUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,117 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.PublicKey;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fuente de claves públicas que descarga los certificados X.509 con los que Google firma
+ * los ID tokens de Firebase. La vigencia del conjunto se toma del max-age del header
+ * Cache-Control de la respuesta.
+ */
+@Component
+@ConditionalOnProperty(name = "app.firebase.verification.mode", havingValue = "local", matchIfMissing = true)
+public class GooglePublicKeySource implements FirebasePublicKeySource {
+
+    /** Vigencia asumida si la respuesta no informa max-age. */
+    static final Duration DEFAULT_MAX_AGE = Duration.ofHours(1);
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private static final TypeReference<Map<String, String>> CERTIFICATES_TYPE = new TypeReference<>() {
+    };
+
+    private final HttpClient httpClient;
+
+    private final ObjectMapper objectMapper;
+
+    private final URI keysUri;
+
+    private final Duration timeout;
+
+    public GooglePublicKeySource(ObjectMapper objectMapper,
+                                 @Value("${app.firebase.verification.keys-url:https://www.googleapis.com/robot/v1/metadata/x509/securetoken@system.gserviceaccount.com}") String keysUrl,
+                                 @Value("${app.firebase.verification.fetch-timeout-ms:5000}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.keysUri = URI.create(keysUrl);
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    @Override
+    public FirebasePublicKeys fetch() throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(keysUri)
+                .timeout(timeout)
+                .GET()
+                .build();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Descarga de claves públicas de Firebase interrumpida", e);
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Error descargando claves públicas de Firebase: HTTP " + response.statusCode());
+        }
+
+        Map<String, String> certificates = objectMapper.readValue(response.body(), CERTIFICATES_TYPE);
+        Duration maxAge = parseMaxAge(response.headers().firstValue("Cache-Control")).orElse(DEFAULT_MAX_AGE);
+        return new FirebasePublicKeys(parseCertificates(certificates), maxAge, Instant.now());
+    }
+
+    /**
+     * Convierte los certificados PEM indexados por kid en claves públicas.
+     *
+     * @param certificates Certificados X.509 en formato PEM indexados por kid.
+     * @return Claves públicas indexadas por kid.
+     * @throws IOException si algún certificado es inválido.
+     */
+    static Map<String, PublicKey> parseCertificates(Map<String, String> certificates) throws IOException {
+        try {
+            CertificateFactory factory = CertificateFactory.getInstance("X.509");
+            Map<String, PublicKey> keys = new HashMap<>();
+            for (Map.Entry<String, String> entry : certificates.entrySet()) {
+                byte[] pem = entry.getValue().getBytes(StandardCharsets.US_ASCII);
+                keys.put(entry.getKey(), factory.generateCertificate(new ByteArrayInputStream(pem)).getPublicKey());
+            }
+            return keys;
+        } catch (CertificateException e) {
+            throw new IOException("Certificado de Firebase inválido: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Extrae el max-age de un header Cache-Control.
+     *
+     * @param cacheControl Valor del header, si está presente.
+     * @return Vigencia informada, o vacío si el header no incluye max-age.
+     */
+    static Optional<Duration> parseMaxAge(Optional<String> cacheControl) {
+        return cacheControl.map(MAX_AGE::matcher)
+                .filter(Matcher::find)
+                .map(matcher -> Duration.ofSeconds(Long.parseLong(matcher.group(1))));
+    }
+}
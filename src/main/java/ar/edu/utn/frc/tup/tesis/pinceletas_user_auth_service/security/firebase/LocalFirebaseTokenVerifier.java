@@ -0,0 +1,273 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Verificador local de ID tokens de Firebase.
+ * Valida la firma RS256 con las claves públicas de Google, que se precargan al iniciar y
+ * se renuevan en segundo plano antes de que venza su Cache-Control, de modo que el request
+ * nunca espera una descarga (salvo el primero tras el arranque, acotado por initial-wait-ms).
+ * Aplica las mismas reglas que el Admin SDK: algoritmo RS256, kid conocido, issuer
+ * https://securetoken.google.com/{projectId}, audiencia igual al projectId, subject no
+ * vacío y iat/auth_time no futuros.
+ * Un kid desconocido dispara una renovación anticipada, limitada a una por minuto.
+ */
+@Component
+@ConditionalOnProperty(name = "app.firebase.verification.mode", havingValue = "local", matchIfMissing = true)
+@Qualifier(ResilientFirebaseTokenVerifier.DELEGATE)
+@Slf4j
+public class LocalFirebaseTokenVerifier implements FirebaseTokenVerifier {
+
+    private static final String ISSUER_PREFIX = "https://securetoken.google.com/";
+
+    private static final String ALGORITHM = "RS256";
+
+    /** Longitud máxima del UID de Firebase. */
+    private static final int MAX_UID_LENGTH = 128;
+
+    /** Intervalo mínimo entre renovaciones disparadas por un kid desconocido. */
+    private static final Duration MIN_ON_DEMAND_INTERVAL = Duration.ofMinutes(1);
+
+    /** Espera mínima entre renovaciones programadas. */
+    private static final Duration MIN_REFRESH_DELAY = Duration.ofSeconds(30);
+
+    private final FirebasePublicKeySource keySource;
+
+    private final String projectId;
+
+    private final String issuer;
+
+    private final Duration refreshAhead;
+
+    private final Duration retryInterval;
+
+    private final long initialWaitMs;
+
+    private final long clockSkewSeconds;
+
+    /** Conjunto de claves vigente; null hasta la primera descarga exitosa. */
+    private final AtomicReference<FirebasePublicKeys> keys = new AtomicReference<>();
+
+    /** Parser armado con el conjunto de claves vigente, reutilizado entre requests. */
+    private volatile JwtParser parser;
+
+    /** Se completa con el parser de la primera descarga exitosa de claves. */
+    private final CompletableFuture<JwtParser> firstLoad = new CompletableFuture<>();
+
+    /** Indica si hay una renovación a demanda en curso. */
+    private final AtomicBoolean onDemandRefresh = new AtomicBoolean();
+
+    private final ScheduledExecutorService scheduler;
+
+    public LocalFirebaseTokenVerifier(FirebasePublicKeySource keySource,
+                                      @Value("${firebase.project-id}") String projectId,
+                                      @Value("${app.firebase.verification.refresh-ahead-seconds:300}") long refreshAheadSeconds,
+                                      @Value("${app.firebase.verification.retry-interval-seconds:30}") long retryIntervalSeconds,
+                                      @Value("${app.firebase.verification.initial-wait-ms:2000}") long initialWaitMs,
+                                      @Value("${app.firebase.verification.clock-skew-seconds:60}") long clockSkewSeconds) {
+        if (!StringUtils.hasText(projectId)) {
+            throw new IllegalStateException("firebase.project-id es obligatorio para verificar tokens de Firebase");
+        }
+        this.keySource = keySource;
+        this.projectId = projectId;
+        this.issuer = ISSUER_PREFIX + projectId;
+        this.refreshAhead = Duration.ofSeconds(refreshAheadSeconds);
+        this.retryInterval = Duration.ofSeconds(retryIntervalSeconds);
+        this.initialWaitMs = initialWaitMs;
+        this.clockSkewSeconds = clockSkewSeconds;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "firebase-keys-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Inicia en segundo plano la precarga de las claves públicas.
+     */
+    @PostConstruct
+    public void start() {
+        scheduler.execute(this::scheduledRefresh);
+    }
+
+    /**
+     * Detiene la renovación de claves.
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public VerifiedFirebaseToken verify(String idToken) {
+        if (!StringUtils.hasText(idToken)) {
+            throw new FirebaseTokenVerificationException("El token de Firebase es obligatorio");
+        }
+        JwtParser current = currentParser();
+
+        Claims claims;
+        try {
+            claims = current.parseClaimsJws(idToken).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new FirebaseTokenVerificationException("Token de Firebase inválido: " + e.getMessage(), e);
+        }
+
+        String uid = claims.getSubject();
+        if (!StringUtils.hasText(uid) || uid.length() > MAX_UID_LENGTH) {
+            throw new FirebaseTokenVerificationException("Token de Firebase inválido: subject ausente o demasiado largo");
+        }
+        Instant latestAllowed = Instant.now().plusSeconds(clockSkewSeconds);
+        if (claims.getIssuedAt() == null || claims.getIssuedAt().toInstant().isAfter(latestAllowed)) {
+            throw new FirebaseTokenVerificationException("Token de Firebase inválido: fecha de emisión futura");
+        }
+        Number authTime = claims.get("auth_time", Number.class);
+        if (authTime == null || Instant.ofEpochSecond(authTime.longValue()).isAfter(latestAllowed)) {
+            throw new FirebaseTokenVerificationException("Token de Firebase inválido: auth_time ausente o futuro");
+        }
+
+        String email = claims.get("email", String.class);
+        Object name = claims.getOrDefault("name", email);
+        Date expiration = claims.getExpiration();
+        return new VerifiedFirebaseToken(uid, email, name != null ? name.toString() : null,
+                expiration != null ? expiration.toInstant() : null, claims);
+    }
+
+    /**
+     * Indica si ya se descargó al menos un conjunto de claves.
+     *
+     * @return true si el verificador puede validar tokens sin esperar.
+     */
+    public boolean isReady() {
+        return keys.get() != null;
+    }
+
+    /**
+     * Descarga las claves y programa la próxima renovación antes de que venzan,
+     * o un reintento si la descarga falla.
+     */
+    private void scheduledRefresh() {
+        Duration nextDelay;
+        FirebasePublicKeys fetched = refreshKeys();
+        if (fetched != null) {
+            nextDelay = fetched.maxAge().minus(refreshAhead);
+            if (nextDelay.compareTo(MIN_REFRESH_DELAY) < 0) {
+                nextDelay = MIN_REFRESH_DELAY;
+            }
+        } else {
+            nextDelay = retryInterval;
+        }
+        if (!scheduler.isShutdown()) {
+            scheduler.schedule(this::scheduledRefresh, nextDelay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Descarga y publica un nuevo conjunto de claves.
+     *
+     * @return Claves descargadas, o null si la descarga falló.
+     */
+    FirebasePublicKeys refreshKeys() {
+        try {
+            FirebasePublicKeys fetched = keySource.fetch();
+            JwtParser fetchedParser = buildParser(fetched);
+            parser = fetchedParser;
+            keys.set(fetched);
+            firstLoad.complete(fetchedParser);
+            log.debug("Claves públicas de Firebase actualizadas: {} claves, vigencia {}",
+                    fetched.keys().size(), fetched.maxAge());
+            return fetched;
+        } catch (Exception e) {
+            log.warn("Error actualizando claves públicas de Firebase, se reintentará: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Programa una renovación inmediata ante un kid desconocido (posible rotación de claves),
+     * salvo que ya haya una en curso o la última descarga sea muy reciente.
+     */
+    private void requestRefresh() {
+        FirebasePublicKeys current = keys.get();
+        if (current != null && current.fetchedAt().plus(MIN_ON_DEMAND_INTERVAL).isAfter(Instant.now())) {
+            return;
+        }
+        if (onDemandRefresh.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                try {
+                    refreshKeys();
+                } finally {
+                    onDemandRefresh.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Retorna el parser de las claves vigentes. Solo si todavía no se completó la primera
+     * descarga espera, como mucho initialWaitMs milisegundos.
+     */
+    private JwtParser currentParser() {
+        JwtParser current = parser;
+        if (current != null) {
+            return current;
+        }
+        try {
+            return firstLoad.get(initialWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            throw new FirebaseUnavailableException("Claves públicas de Firebase aún no disponibles");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FirebaseUnavailableException("Claves públicas de Firebase aún no disponibles");
+        }
+    }
+
+    private JwtParser buildParser(FirebasePublicKeys current) {
+        return Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        if (!ALGORITHM.equals(header.getAlgorithm())) {
+                            throw new UnsupportedJwtException("algoritmo no soportado: " + header.getAlgorithm());
+                        }
+                        Key key = header.getKeyId() != null ? current.keys().get(header.getKeyId()) : null;
+                        if (key == null) {
+                            requestRefresh();
+                            throw new SignatureException("kid desconocido: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .requireIssuer(issuer)
+                .requireAudience(projectId)
+                .setAllowedClockSkewSeconds(clockSkewSeconds)
+                .build();
+    }
+}
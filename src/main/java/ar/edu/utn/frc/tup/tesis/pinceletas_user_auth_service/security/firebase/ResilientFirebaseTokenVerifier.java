@@ -0,0 +1,205 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decorador que protege la verificación de tokens de Firebase con bulkhead, timeout y
+ * circuit breaker, de modo que una caída o lentitud de Firebase no agote los threads de
+ * Tomcat ni afecte al login con email y contraseña.
+ * Las verificaciones corren en un pool dedicado de maxConcurrent threads con una cola
+ * acotada (bulkhead); cada una espera como mucho timeoutMs. Las fallas de infraestructura
+ * alimentan el circuit breaker, que al abrirse rechaza las verificaciones de inmediato.
+ * Todos los rechazos se informan con FirebaseUnavailableException (503); los tokens
+ * inválidos se propagan sin contar como falla.
+ * Publica métricas bajo el nombre "firebase.verification".
+ */
+@Component
+@Primary
+@Slf4j
+public class ResilientFirebaseTokenVerifier implements FirebaseTokenVerifier, AutoCloseable {
+
+    /** Qualifier del verificador real (local o SDK) que se decora. */
+    public static final String DELEGATE = "firebaseTokenVerifierDelegate";
+
+    /** Nombre con el que se publican las métricas. */
+    static final String METRIC_NAME = "firebase.verification";
+
+    private final FirebaseTokenVerifier delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final long timeoutMs;
+
+    private final FirebaseCircuitBreaker circuitBreaker;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Counter rejected;
+
+    private final Counter timeouts;
+
+    private final Counter shortCircuited;
+
+    /**
+     * Construye el decorador con su pool dedicado, el circuit breaker y las métricas.
+     *
+     * @param delegate Verificador real (local o SDK).
+     * @param meterRegistry Registro de métricas de la aplicación.
+     * @param maxConcurrent Cantidad máxima de verificaciones simultáneas.
+     * @param queueCapacity Verificaciones que pueden esperar en cola (0 = sin cola).
+     * @param timeoutMs Tiempo máximo de espera de cada verificación en milisegundos.
+     * @param windowSize Cantidad de llamadas recientes consideradas por el circuit breaker.
+     * @param minimumCalls Llamadas mínimas antes de evaluar el porcentaje de fallas.
+     * @param failureRateThreshold Porcentaje de fallas que abre el circuito.
+     * @param openDurationSeconds Segundos que el circuito permanece abierto.
+     */
+    public ResilientFirebaseTokenVerifier(@Qualifier(DELEGATE) FirebaseTokenVerifier delegate,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${app.firebase.resilience.max-concurrent:20}") int maxConcurrent,
+                                          @Value("${app.firebase.resilience.queue-capacity:20}") int queueCapacity,
+                                          @Value("${app.firebase.resilience.timeout-ms:3000}") long timeoutMs,
+                                          @Value("${app.firebase.resilience.window-size:20}") int windowSize,
+                                          @Value("${app.firebase.resilience.minimum-calls:10}") int minimumCalls,
+                                          @Value("${app.firebase.resilience.failure-rate-threshold:50}") int failureRateThreshold,
+                                          @Value("${app.firebase.resilience.open-duration-seconds:30}") long openDurationSeconds) {
+        this.delegate = delegate;
+        this.timeoutMs = timeoutMs;
+        this.meterRegistry = meterRegistry;
+        BlockingQueue<Runnable> queue = queueCapacity > 0
+                ? new ArrayBlockingQueue<>(queueCapacity)
+                : new SynchronousQueue<>();
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0L, TimeUnit.MILLISECONDS,
+                queue, new VerificationThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        this.circuitBreaker = new FirebaseCircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                Duration.ofSeconds(openDurationSeconds), System::nanoTime);
+        this.rejected = Counter.builder(METRIC_NAME + ".rejected")
+                .description("Verificaciones rechazadas por saturación del bulkhead")
+                .register(meterRegistry);
+        this.timeouts = Counter.builder(METRIC_NAME + ".timeouts")
+                .description("Verificaciones que superaron el timeout")
+                .register(meterRegistry);
+        this.shortCircuited = Counter.builder(METRIC_NAME + ".short-circuited")
+                .description("Verificaciones rechazadas con el circuito abierto")
+                .register(meterRegistry);
+        meterRegistry.gauge(METRIC_NAME + ".circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal());
+        new ExecutorServiceMetrics(executor, METRIC_NAME, Tags.empty()).bindTo(meterRegistry);
+    }
+
+    @Override
+    public VerifiedFirebaseToken verify(String idToken) {
+        if (!circuitBreaker.tryAcquire()) {
+            shortCircuited.increment();
+            throw new FirebaseUnavailableException("La verificación con Firebase no está disponible temporalmente");
+        }
+
+        Future<VerifiedFirebaseToken> future;
+        try {
+            future = executor.submit(() -> delegate.verify(idToken));
+        } catch (RejectedExecutionException e) {
+            circuitBreaker.release();
+            rejected.increment();
+            log.warn("Bulkhead de Firebase saturado: {} activas, {} en cola", executor.getActiveCount(), executor.getQueue().size());
+            throw new FirebaseUnavailableException("El servicio está ocupado. Intenta nuevamente en unos segundos.");
+        }
+
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            VerifiedFirebaseToken token = future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            circuitBreaker.onSuccess();
+            return token;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            outcome = "timeout";
+            timeouts.increment();
+            circuitBreaker.onFailure();
+            log.warn("Timeout de {} ms verificando un token de Firebase", timeoutMs);
+            throw new FirebaseUnavailableException("Firebase no respondió a tiempo. Intenta nuevamente en unos segundos.");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            outcome = "interrupted";
+            circuitBreaker.release();
+            Thread.currentThread().interrupt();
+            throw new FirebaseUnavailableException("Verificación de Firebase interrumpida");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof FirebaseUnavailableException unavailable) {
+                outcome = "unavailable";
+                circuitBreaker.onFailure();
+                throw unavailable;
+            }
+            if (cause instanceof FirebaseTokenVerificationException invalid) {
+                // Firebase respondió: el token es inválido pero el servicio funciona
+                outcome = "invalid";
+                circuitBreaker.onSuccess();
+                throw invalid;
+            }
+            outcome = "error";
+            circuitBreaker.onFailure();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Error verificando el token de Firebase", cause);
+        } finally {
+            Timer.builder(METRIC_NAME)
+                    .description("Duración de la verificación de tokens de Firebase")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Estado actual del circuit breaker.
+     *
+     * @return Estado del circuito.
+     */
+    public FirebaseCircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * Detiene el pool al cerrar el contexto de la aplicación.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Crea threads daemon con nombre identificable para diagnóstico.
+     */
+    private static final class VerificationThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "firebase-verification-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.config.FirebaseConfig;
+import com.google.firebase.auth.AuthErrorCode;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.FirebaseToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Verificador de ID tokens que delega en FirebaseAuth.verifyIdToken del Admin SDK.
+ * Se activa con app.firebase.verification.mode=sdk. El SDK descarga las claves públicas
+ * en el thread del request cuando su caché está vacía o vencida. Si Firebase todavía se está
+ * inicializando, el primer request espera a que termine.
+ */
+@Component
+@ConditionalOnProperty(name = "app.firebase.verification.mode", havingValue = "sdk")
+@Qualifier(ResilientFirebaseTokenVerifier.DELEGATE)
+@RequiredArgsConstructor
+public class SdkFirebaseTokenVerifier implements FirebaseTokenVerifier {
+
+    /** Configuración que provee la FirebaseApp inicializada. */
+    private final FirebaseConfig firebaseConfig;
+
+    @Override
+    public VerifiedFirebaseToken verify(String idToken) {
+        FirebaseAuth firebaseAuth;
+        try {
+            firebaseAuth = FirebaseAuth.getInstance(firebaseConfig.awaitApp());
+        } catch (IllegalStateException e) {
+            throw new FirebaseUnavailableException("Firebase no disponible: " + e.getMessage(), e);
+        }
+        try {
+            FirebaseToken decoded = firebaseAuth.verifyIdToken(idToken);
+            Map<String, Object> claims = decoded.getClaims();
+            String email = decoded.getEmail();
+            String name = (String) claims.getOrDefault("name", email);
+            Object exp = claims.get("exp");
+            Instant expiresAt = exp instanceof Number number ? Instant.ofEpochSecond(number.longValue()) : null;
+            return new VerifiedFirebaseToken(decoded.getUid(), email, name, expiresAt, claims);
+        } catch (FirebaseAuthException e) {
+            if (e.getAuthErrorCode() == AuthErrorCode.CERTIFICATE_FETCH_FAILED) {
+                throw new FirebaseUnavailableException("Firebase no disponible: " + e.getMessage(), e);
+            }
+            throw new FirebaseTokenVerificationException("Token de Firebase inválido: " + e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            throw new FirebaseTokenVerificationException("Token de Firebase inválido: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Datos extraídos de un ID token de Firebase verificado.
+ *
+ * @param uid UID del usuario en Firebase (subject del token).
+ * @param email Email del usuario.
+ * @param name Nombre del claim "name", o el email si el token no lo incluye.
+ * @param expiresAt Fecha de expiración del token.
+ * @param claims Claims completos del token.
+ */
+public record VerifiedFirebaseToken(String uid, String email, String name, Instant expiresAt,
+                                    Map<String, Object> claims) {
+}
@@ -57,4 +57,13 @@ public interface AuthService {
      */
     AuthResponse loginWithFirebase(FirebaseLoginRequest request);
 
+    /**
+     * Renueva el access token de un usuario canjeando un refresh token válido.
+     * El refresh token presentado queda invalidado y se entrega uno nuevo.
+     *
+     * @param request Solicitud con el refresh token.
+     * @return AuthResponse con el nuevo token JWT y el nuevo refresh token.
+     */
+    AuthResponse refresh(RefreshTokenRequest request);
+
 }
@@ -0,0 +1,143 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.enums.RoleEnum;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.TokenDigests;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.UserRevocationRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caché de idempotencia de los logins con Firebase.
+ * Los clientes móviles reintentan el login con el mismo ID token ante fallas de red; un
+ * reintento dentro de la ventana reutiliza el usuario ya verificado sin repetir la verificación
+ * del token, las escrituras en base de datos ni las notificaciones.
+ * Solo se guarda el resultado de la verificación, nunca los tokens emitidos: cada reintento
+ * recibe un par de tokens nuevo, porque el refresh token de la respuesta anterior pudo haber
+ * sido rotado y reenviarlo dispararía la detección de reutilización.
+ * Las entradas se indexan por el digest SHA-256 del ID token y vencen en la expiración del
+ * token o al cumplirse max-ttl-seconds, lo que ocurra primero. Las entradas de usuarios
+ * revocados después del login se descartan.
+ */
+@Component
+public class FirebaseLoginCache {
+
+    /** Nombre con el que se publican las métricas de la caché. */
+    private static final String CACHE_NAME = "firebase.logins";
+
+    /** Registro de revocaciones para descartar logins de usuarios desactivados. */
+    private final UserRevocationRegistry userRevocationRegistry;
+
+    /** Vigencia máxima de cada entrada. */
+    private final Duration maxTtl;
+
+    /** Logins verificados indexados por digest del ID token. */
+    private final Cache<String, CachedLogin> cache;
+
+    /**
+     * Construye la caché acotada y registra sus métricas de aciertos y fallos.
+     *
+     * @param userRevocationRegistry Registro de usuarios revocados.
+     * @param meterRegistry Registro de métricas de la aplicación.
+     * @param maxSize Cantidad máxima de logins en memoria.
+     * @param maxTtlSeconds Vigencia máxima de cada login en segundos.
+     */
+    public FirebaseLoginCache(UserRevocationRegistry userRevocationRegistry,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.firebase.login-cache.max-size:10000}") long maxSize,
+                              @Value("${app.firebase.login-cache.max-ttl-seconds:120}") long maxTtlSeconds) {
+        this.userRevocationRegistry = userRevocationRegistry;
+        this.maxTtl = Duration.ofSeconds(maxTtlSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new LoginExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Busca el login ya verificado para un ID token.
+     *
+     * @param idToken ID token de Firebase enviado por el cliente.
+     * @return Usuario verificado, o vacío si no hay un login vigente.
+     */
+    public Optional<FirebaseLogin> get(String idToken) {
+        String key = TokenDigests.sha256(idToken);
+        CachedLogin cached = cache.getIfPresent(key);
+        if (cached == null) {
+            return Optional.empty();
+        }
+        if (userRevocationRegistry.isRevoked(cached.login().email(), cached.verifiedAt())) {
+            cache.invalidate(key);
+            return Optional.empty();
+        }
+        return Optional.of(cached.login());
+    }
+
+    /**
+     * Guarda el login verificado para un ID token.
+     *
+     * @param idToken ID token de Firebase enviado por el cliente.
+     * @param tokenExpiresAt Expiración del ID token (puede ser null).
+     * @param login Usuario verificado y activo.
+     */
+    public void put(String idToken, Instant tokenExpiresAt, FirebaseLogin login) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(maxTtl);
+        if (tokenExpiresAt != null && tokenExpiresAt.isBefore(expiresAt)) {
+            expiresAt = tokenExpiresAt;
+        }
+        if (!expiresAt.isAfter(now)) {
+            return;
+        }
+        cache.put(TokenDigests.sha256(idToken), new CachedLogin(login, now, expiresAt));
+    }
+
+    /**
+     * Usuario resuelto por un login con Firebase, suficiente para emitir sus tokens.
+     *
+     * @param userId ID del usuario.
+     * @param email Email del usuario.
+     * @param role Rol del usuario.
+     */
+    public record FirebaseLogin(Long userId, String email, RoleEnum role) {
+    }
+
+    /**
+     * Login verificado junto con los datos para validar su vigencia.
+     */
+    private record CachedLogin(FirebaseLogin login, Instant verifiedAt, Instant expiresAt) {
+    }
+
+    /**
+     * Política de expiración que limita cada entrada a su instante de vencimiento.
+     */
+    private static class LoginExpiry implements Expiry<String, CachedLogin> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedLogin login, long currentTime) {
+            long remainingMillis = login.expiresAt().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedLogin login, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, login, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedLogin login, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -2,20 +2,31 @@ package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.Impl;
 
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit.NotificacionEventService;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.auth.*;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.enums.RoleEnum;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.model.UserEntity;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.JwtService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase.FirebaseTokenVerifier;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase.FirebaseUnavailableException;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase.VerifiedFirebaseToken;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.AuthService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.FirebaseLoginCache;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.PasswordRehashService;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.PasswordResetService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.RefreshTokenService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.UserActivityTracker;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import java.time.LocalDateTime;
+
+import java.util.Optional;
 
 /**
  * Implementación del servicio de autenticación.
  * Gestiona el registro, login tradicional y con Firebase, y procesos de recuperación de contraseña.
  * Coordina entre UserService, JwtService y PasswordResetService para completar las operaciones.
+ * Cada autenticación exitosa entrega un access token de corta duración y un refresh token
+ * con el que el cliente lo renueva sin repetir la verificación de contraseña o de Firebase.
  */
 @Service
 @RequiredArgsConstructor
@@ -28,6 +39,16 @@ public class AuthServiceImpl implements AuthService{
     private final PasswordEncoder passwordEncoder;
     /** Servicio para gestión de tokens de recuperación de contraseña. */
     private final PasswordResetService passwordResetService;
+    /** Registro de actividad con escritura diferida de lastActivityAt. */
+    private final UserActivityTracker userActivityTracker;
+    /** Servicio para emisión y rotación de refresh tokens. */
+    private final RefreshTokenService refreshTokenService;
+    /** Servicio para actualizar en segundo plano hashes con otro algoritmo o costo. */
+    private final PasswordRehashService passwordRehashService;
+    /** Verificador de ID tokens de Firebase (local o mediante el Admin SDK). */
+    private final FirebaseTokenVerifier firebaseTokenVerifier;
+    /** Caché de idempotencia para los reintentos de login con el mismo ID token. */
+    private final FirebaseLoginCache firebaseLoginCache;
 
 
     private final NotificacionEventService notificacionEventService; // <- Nuevo
@@ -38,34 +59,21 @@ public class AuthServiceImpl implements AuthService{
      * Crea el usuario en la base de datos y genera un token JWT para autenticación inmediata.
      *
      * @param request Datos del usuario a registrar.
-     * @return AuthResponse con el token JWT generado para autenticación.
+     * @return AuthResponse con el token JWT y el refresh token generados para autenticación.
      * @throws RuntimeException si el email ya está registrado o las contraseñas no coinciden.
      */
     @Override
     public AuthResponse register(RegisterUserRequest request) {
+        // 🔔 Las notificaciones de registro (ADMIN y USUARIO) se guardan en el outbox junto con el usuario
         UserEntity user = userService.register(request);
 
-        // 🔔 Para el ADMIN - Nuevo registro
-        notificacionEventService.enviarNotificacionNuevoRegistro(
-                user.getEmail(),
-                user.getId(),
-                user.getNombre() + " " + user.getApellido()
-        );
-
-        // 🔔 Para el USUARIO - Bienvenida por registro
-        notificacionEventService.enviarNotificacionBienvenidaRegistro(
-                user.getEmail(),
-                user.getId(),
-                user.getNombre() + " " + user.getApellido()
-        );
-
-        String token = jwtService.generateToken(user.getEmail(), user.getRole().name());
-        return new AuthResponse(token);
+        return issueTokens(user);
     }
 
     /**
      * Autentica un usuario existente con credenciales tradicionales.
      * Verifica que el usuario exista, esté activo y las credenciales sean correctas.
+     * Si el hash almacenado usa otro algoritmo o costo que el configurado, se actualiza en segundo plano.
      *
      * @param request Credenciales de login (email y contraseña).
      * @return AuthResponse con el token JWT generado.
@@ -83,9 +91,10 @@ public class AuthServiceImpl implements AuthService{
             throw new RuntimeException("Credenciales inválidas");
         }
 
-        // 🔄 ACTUALIZAR SOLO lastActivityAt
-        user.setLastActivityAt(LocalDateTime.now());
-        userService.saveUser(user);
+        passwordRehashService.rehashIfNeeded(user.getEmail(), user.getPassword(), request.getPassword());
+
+        // 🔄 ACTUALIZAR SOLO lastActivityAt (escritura diferida)
+        userActivityTracker.recordActivity(user.getEmail());
 
         // 🔔 Para TODOS los usuarios - Inicio de sesión
         notificacionEventService.enviarNotificacionInicioSesion(
@@ -94,8 +103,7 @@ public class AuthServiceImpl implements AuthService{
                 user.getNombre() + " " + user.getApellido()
         );
 
-        String token = jwtService.generateToken(user.getEmail(), user.getRole().name());
-        return new AuthResponse(token);
+        return issueTokens(user);
     }
 
     /**
@@ -138,38 +146,26 @@ public class AuthServiceImpl implements AuthService{
     @Override
     public AuthResponse registerWithFirebase(FirebaseRegisterRequest request) {
         try {
-            com.google.firebase.auth.FirebaseToken decoded =
-                    com.google.firebase.auth.FirebaseAuth.getInstance()
-                            .verifyIdToken(request.getFirebaseIdToken());
+            VerifiedFirebaseToken decoded = firebaseTokenVerifier.verify(request.getFirebaseIdToken());
 
-            String uid = decoded.getUid();
-            String email = decoded.getEmail();
-            String name = (String) decoded.getClaims().getOrDefault("name", email);
+            String uid = decoded.uid();
+            String email = decoded.email();
+            String name = decoded.name();
 
             if (userService.existsByEmail(email)) {
                 throw new RuntimeException("El email ya está registrado");
             }
 
+            // 🔔 Las notificaciones de registro (ADMIN y USUARIO) se guardan en el outbox junto con el usuario
             UserEntity user = userService.registerWithFirebase(
                     uid, email, name, "firebase",
                     request.getFirstName(), request.getLastName(), request.getPhoneNumber()
             );
 
-            // 🔔 Para el ADMIN - Nuevo registro con Firebase
-            notificacionEventService.enviarNotificacionNuevoRegistro(
-                    user.getEmail(),
-                    user.getId(),
-                    user.getDisplayName()
-            );
-
-            // 🔔 Para el USUARIO - Bienvenida por registro con Firebase
-            notificacionEventService.enviarNotificacionBienvenidaRegistro(
-                    user.getEmail(),
-                    user.getId(),
-                    user.getDisplayName()
-            );
-            String token = jwtService.generateToken(user.getEmail(), user.getRole().name());
-            return new AuthResponse(token);
+            return issueTokens(user);
+        } catch (FirebaseUnavailableException e) {
+            // Firebase caído o saturado: se propaga para responder 503 en lugar de un error genérico
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Error en el registro con Firebase: " + e.getMessage());
         }
@@ -180,6 +176,9 @@ public class AuthServiceImpl implements AuthService{
      * Autentica un usuario existente usando autenticación con Firebase.
      * Verifica el token de Firebase y genera un JWT del sistema para el usuario.
      * Si el usuario no existe, lo crea automáticamente (upsert operation).
+     * Un reintento con el mismo ID token dentro de la ventana de idempotencia reutiliza el
+     * usuario ya verificado, sin repetir la verificación, las escrituras ni las notificaciones,
+     * y recibe un par de tokens nuevo.
      *
      * @param request Solicitud con token de Firebase.
      * @return AuthResponse con el token JWT del sistema.
@@ -188,43 +187,72 @@ public class AuthServiceImpl implements AuthService{
      */
     @Override
     public AuthResponse loginWithFirebase(FirebaseLoginRequest request) {
+        Optional<FirebaseLoginCache.FirebaseLogin> cached = firebaseLoginCache.get(request.getFirebaseIdToken());
+        if (cached.isPresent()) {
+            FirebaseLoginCache.FirebaseLogin login = cached.get();
+            return issueTokens(login.userId(), login.email(), login.role());
+        }
         try {
-            com.google.firebase.auth.FirebaseToken decoded =
-                    com.google.firebase.auth.FirebaseAuth.getInstance()
-                            .verifyIdToken(request.getFirebaseIdToken());
+            VerifiedFirebaseToken decoded = firebaseTokenVerifier.verify(request.getFirebaseIdToken());
 
-            String uid = decoded.getUid();
-            String email = decoded.getEmail();
-            String name = (String) decoded.getClaims().getOrDefault("name", email);
+            String uid = decoded.uid();
+            String email = decoded.email();
+            String name = decoded.name();
 
+            // 🔔 Las notificaciones de inicio de sesión (USUARIO y ADMIN) se guardan en el outbox junto con el usuario
+            // 🔄 El upsert registra lastActivityAt en la misma sentencia
             UserEntity user = userService.upsertFirebaseUser(uid, email, name, "firebase");
 
             if (!user.isActivo()) {
                 throw new RuntimeException("La cuenta está desactivada");
             }
 
-            // 🔄 ACTUALIZAR SOLO lastActivityAt
-            user.setLastActivityAt(LocalDateTime.now());
-            userService.saveUser(user);
-
-            // 🔔 Para el USUARIO - Inicio de sesión con Firebase
-            notificacionEventService.enviarNotificacionInicioSesionFirebase(
-                    user.getEmail(),
-                    user.getId(),
-                    user.getDisplayName() != null ? user.getDisplayName() : user.getNombre() + " " + user.getApellido()
-            );
-
-            // 🔔 NUEVO: Para el ADMIN - Aviso de inicio de sesión con Firebase
-            notificacionEventService.enviarNotificacionAdminInicioSesionFirebase(
-                    user.getEmail(),
-                    user.getId(),
-                    user.getDisplayName() != null ? user.getDisplayName() : user.getNombre() + " " + user.getApellido()
-            );
-
-            String token = jwtService.generateToken(user.getEmail(), user.getRole().name());
-            return new AuthResponse(token);
+            firebaseLoginCache.put(request.getFirebaseIdToken(), decoded.expiresAt(),
+                    new FirebaseLoginCache.FirebaseLogin(user.getId(), user.getEmail(), user.getRole()));
+            return issueTokens(user);
+        } catch (FirebaseUnavailableException e) {
+            // Firebase caído o saturado: se propaga para responder 503 en lugar de un error genérico
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Error en el login con Firebase: " + e.getMessage());
         }
     }
+
+    /**
+     * Renueva el access token canjeando un refresh token por uno nuevo de la misma familia.
+     * No repite la verificación de contraseña ni de Firebase; solo valida que el usuario
+     * siga activo. Si la cuenta fue desactivada, se revoca la familia del token.
+     *
+     * @param request Solicitud con el refresh token.
+     * @return AuthResponse con el nuevo token JWT y el nuevo refresh token.
+     * @throws RuntimeException si el refresh token es inválido, expiró, fue reutilizado
+     *         o la cuenta está desactivada.
+     */
+    @Override
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        UserEntity user = userService.findById(rotation.userId());
+
+        if (!user.isActivo()) {
+            refreshTokenService.revokeFamily(rotation.familyId());
+            throw new RuntimeException("La cuenta está desactivada");
+        }
+
+        userActivityTracker.recordActivity(user.getEmail());
+
+        String token = jwtService.generateToken(user.getEmail(), user.getRole().name());
+        return new AuthResponse(token, rotation.refreshToken());
+    }
+
+    /**
+     * Genera el access token y un refresh token de una nueva familia para el usuario autenticado.
+     */
+    private AuthResponse issueTokens(UserEntity user) {
+        return issueTokens(user.getId(), user.getEmail(), user.getRole());
+    }
+
+    private AuthResponse issueTokens(Long userId, String email, RoleEnum role) {
+        String token = jwtService.generateToken(email, role.name());
+        return new AuthResponse(token, refreshTokenService.issue(userId));
+    }
 }
@@ -1,20 +1,35 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.Impl;
 
 
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit.NotificacionEventService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit.UserCacheInvalidationService;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.auth.RegisterUserRequest;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.ChangePasswordRequest;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UpdateAddressRequest;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UpdateUserRequest;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserBatchRequest;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserBatchResponse;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserResponse;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserSummary;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.enums.RoleEnum;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.model.UserEntity;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.repository.UserRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.RefreshTokenService;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.UserService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.UserSummaryCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Implementación del servicio de gestión de usuarios.
@@ -29,16 +44,26 @@ public class UserServiceImpl implements UserService{
     private final UserRepository userRepository;
     /** Codificador de contraseñas para seguridad. */
     private final PasswordEncoder passwordEncoder;
+    /** Caché de datos básicos de usuarios, usada en las consultas entre microservicios. */
+    private final UserSummaryCache userSummaryCache;
+    /** Invalidación local y entre réplicas de la caché de usuarios. */
+    private final UserCacheInvalidationService userCacheInvalidationService;
+    /** Notificaciones de registro e inicio de sesión, escritas en el outbox junto con el usuario. */
+    private final NotificacionEventService notificacionEventService;
+    /** Refresh tokens, revocados al cambiar la contraseña o eliminar el usuario. */
+    private final RefreshTokenService refreshTokenService;
 
     /**
      * Registra un nuevo usuario con credenciales tradicionales.
      * Valida que el email no exista y que las contraseñas coincidan antes de crear el usuario.
+     * Las notificaciones de registro se guardan en el outbox en la misma transacción.
      *
      * @param request Datos del usuario a registrar.
      * @return UserEntity con los datos del usuario creado.
      * @throws RuntimeException si el email ya está registrado o las contraseñas no coinciden.
      */
     @Override
+    @Transactional
     public UserEntity register(RegisterUserRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException("El email ya está registrado");
@@ -58,7 +83,9 @@ public class UserServiceImpl implements UserService{
                 .terminosAceptados(false)
                 .build();
 
-        return userRepository.save(user);
+        UserEntity saved = userRepository.save(user);
+        registrarNotificacionesRegistro(saved, saved.getNombre() + " " + saved.getApellido());
+        return saved;
     }
 
     /**
@@ -89,7 +116,9 @@ public class UserServiceImpl implements UserService{
 
     /**
      * Actualiza los datos básicos del perfil de un usuario.
-     * Valida que el nuevo email no esté en uso por otro usuario.
+     * Actualiza solo las columnas del perfil y arma la respuesta con la fila devuelta por
+     * la misma sentencia (UPDATE ... RETURNING), en un único round-trip. Un nuevo email ya
+     * registrado por otro usuario se detecta por la restricción única de email.
      *
      * @param email Email actual del usuario a actualizar.
      * @param request Nuevos datos del usuario.
@@ -98,25 +127,26 @@ public class UserServiceImpl implements UserService{
      */
     @Override
     public UserResponse updateUser(String email, UpdateUserRequest request) {
-        UserEntity user = findByEmail(email);
-
-        if (!user.getEmail().equals(request.getEmail()) &&
-                userRepository.existsByEmail(request.getEmail())) {
+        UserEntity user;
+        try {
+            user = userRepository.updateProfile(email, request.getNombre(), request.getApellido(),
+                            request.getEmail(), request.getTelefono())
+                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        } catch (DataIntegrityViolationException e) {
             throw new RuntimeException("El nuevo email ya está registrado");
         }
 
-        user.setNombre(request.getNombre());
-        user.setApellido(request.getApellido());
-        user.setEmail(request.getEmail());
-        user.setTelefono(request.getTelefono());
-
-        UserEntity updatedUser = userRepository.save(user);
-        return mapToUserResponse(updatedUser);
+        userCacheInvalidationService.invalidate(user.getId(), email);
+        if (!email.equals(request.getEmail())) {
+            userCacheInvalidationService.invalidateEmail(request.getEmail());
+        }
+        return mapToUserResponse(user);
     }
 
     /**
      * Actualiza la dirección completa de un usuario.
-     * Permite actualizar todos los campos de dirección en una sola operación.
+     * Permite actualizar todos los campos de dirección en una sola operación
+     * que modifica solo las columnas de dirección y devuelve la fila actualizada.
      *
      * @param email Email del usuario.
      * @param request Nuevos datos de dirección.
@@ -124,26 +154,26 @@ public class UserServiceImpl implements UserService{
      */
     @Override
     public UserResponse updateUserAddress(String email, UpdateAddressRequest request) {
-        UserEntity user = findByEmail(email);
+        UserEntity user = userRepository.updateAddress(email,
+                        request.getCalle(),
+                        request.getNumero(),
+                        request.getCiudad(),
+                        request.getPiso(),
+                        request.getBarrio(),
+                        request.getPais(),
+                        request.getProvincia(),
+                        request.getCodigoPostal(),
+                        request.getManzana(),
+                        request.getLote())
+                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
 
-        user.setCalle(request.getCalle());
-        user.setNumero(request.getNumero());
-        user.setCiudad(request.getCiudad());
-        user.setPiso(request.getPiso());
-        user.setBarrio(request.getBarrio());
-        user.setPais(request.getPais());
-        user.setProvincia(request.getProvincia());
-        user.setCodigoPostal(request.getCodigoPostal());
-        user.setManzana(request.getManzana());
-        user.setLote(request.getLote());
-
-        UserEntity updatedUser = userRepository.save(user);
-        return mapToUserResponse(updatedUser);
+        return mapToUserResponse(user);
     }
 
     /**
      * Cambia la contraseña de un usuario validando la contraseña actual.
-     * Verifica múltiples condiciones de seguridad antes de permitir el cambio.
+     * Verifica múltiples condiciones de seguridad antes de permitir el cambio y revoca
+     * todos los refresh tokens del usuario.
      *
      * @param email Email del usuario.
      * @param request Datos para el cambio de contraseña.
@@ -152,19 +182,22 @@ public class UserServiceImpl implements UserService{
      */
     @Override
     public void changePassword(String email, ChangePasswordRequest request) {
-        UserEntity user = findByEmail(email);
-        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
+        String currentHash = userRepository.findPasswordByEmail(email)
+                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        if (!passwordEncoder.matches(request.getCurrentPassword(), currentHash)) {
             throw new RuntimeException("La contraseña actual es incorrecta");
         }
         if (!request.getNewPassword().equals(request.getConfirmNewPassword())) {
             throw new RuntimeException("Las nuevas contraseñas no coinciden");
         }
-        if (passwordEncoder.matches(request.getNewPassword(), user.getPassword())) {
+        if (passwordEncoder.matches(request.getNewPassword(), currentHash)) {
             throw new RuntimeException("La nueva contraseña debe ser diferente a la actual");
         }
 
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-        userRepository.save(user);
+        userRepository.updatePassword(email, passwordEncoder.encode(request.getNewPassword()));
+        // Las sesiones abiertas con la contraseña anterior no deben poder renovarse
+        userSummaryCache.getByEmail(email)
+                .ifPresent(summary -> refreshTokenService.revokeAllForUser(summary.id()));
     }
 
     /**
@@ -177,6 +210,8 @@ public class UserServiceImpl implements UserService{
     public void deleteUser(String email) {
         UserEntity user = findByEmail(email);
         userRepository.delete(user);
+        refreshTokenService.revokeAllForUser(user.getId());
+        userCacheInvalidationService.revoke(user.getId(), email);
     }
 
     /**
@@ -184,12 +219,24 @@ public class UserServiceImpl implements UserService{
      * El usuario no podrá iniciar sesión pero sus datos se mantienen en la base de datos.
      *
      * @param email Email del usuario a desactivar.
+     * @throws RuntimeException si el usuario no existe.
      */
     @Override
     public void deactivateUser(String email) {
-        UserEntity user = findByEmail(email);
-        user.setActivo(false);
-        userRepository.save(user);
+        requireUpdated(userRepository.deactivateByEmail(email));
+        userCacheInvalidationService.revoke(null, email);
+    }
+
+    /**
+     * Verifica por cantidad de filas afectadas que una actualización encontró al usuario.
+     *
+     * @param updated Cantidad de filas actualizadas.
+     * @throws RuntimeException si no se actualizó ninguna fila.
+     */
+    private void requireUpdated(int updated) {
+        if (updated == 0) {
+            throw new RuntimeException("Usuario no encontrado");
+        }
     }
 
     /**
@@ -226,7 +273,10 @@ public class UserServiceImpl implements UserService{
 
     /**
      * Crea o actualiza un usuario basado en datos de Firebase (upsert operation).
-     * Busca primero por UID de Firebase, luego por email, y si no existe crea uno nuevo.
+     * Busca primero por UID de Firebase, luego por email, y si no existe crea uno nuevo,
+     * todo en una única sentencia que además registra lastActivityAt si el usuario está activo.
+     * Si el usuario está activo, las notificaciones de inicio de sesión se guardan en el
+     * outbox en la misma transacción.
      *
      * @param uid Identificador único de Firebase.
      * @param email Email del usuario.
@@ -235,44 +285,21 @@ public class UserServiceImpl implements UserService{
      * @return UserEntity creado o actualizado.
      */
     @Override
+    @Transactional
     public UserEntity upsertFirebaseUser(String uid, String email, String displayName, String provider) {
-        Optional<UserEntity> existingByUid = userRepository.findByFirebaseUid(uid);
-        if (existingByUid.isPresent()) {
-            UserEntity user = existingByUid.get();
-            user.setDisplayName(displayName);
-            user.setProvider(provider);
-            return userRepository.save(user);
-        }
-
-        Optional<UserEntity> existingByEmail = userRepository.findByEmail(email);
-        if (existingByEmail.isPresent()) {
-            UserEntity user = existingByEmail.get();
-            user.setFirebaseUid(uid);
-            user.setDisplayName(displayName);
-            user.setProvider(provider);
-            return userRepository.save(user);
-        }
-
-        UserEntity newUser = UserEntity.builder()
-                .firebaseUid(uid)
-                .email(email)
-                .displayName(displayName)
-                .nombre(extractFirstName(displayName))
-                .apellido(extractLastName(displayName))
-                .telefono("")
-                .provider(provider)
-                .role(RoleEnum.USER)
-                .activo(true)
-                .terminosAceptados(false)
-                .createdAt(java.time.Instant.now())
-                .build();
+        // El upsert no modifica columnas de UserSummary: no hace falta invalidar la caché de usuarios
+        UserEntity saved = userRepository.upsertFirebaseUser(uid, email, displayName,
+                extractFirstName(displayName), extractLastName(displayName), provider,
+                java.time.Instant.now(), LocalDateTime.now());
 
-        return userRepository.save(newUser);
+        registrarNotificacionesInicioSesionFirebase(saved);
+        return saved;
     }
 
     /**
      * Registra un nuevo usuario con datos específicos de Firebase.
      * Crea un usuario completo con la información proporcionada.
+     * Las notificaciones de registro se guardan en el outbox en la misma transacción.
      *
      * @param uid Identificador único de Firebase.
      * @param email Email del usuario.
@@ -284,6 +311,7 @@ public class UserServiceImpl implements UserService{
      * @return UserEntity creado.
      */
     @Override
+    @Transactional
     public UserEntity registerWithFirebase(String uid, String email, String displayName,
                                            String provider, String firstName, String lastName, String phoneNumber) {
         UserEntity user = UserEntity.builder()
@@ -300,7 +328,32 @@ public class UserServiceImpl implements UserService{
                 .createdAt(java.time.Instant.now())
                 .build();
 
-        return userRepository.save(user);
+        UserEntity saved = userRepository.save(user);
+        registrarNotificacionesRegistro(saved, saved.getDisplayName());
+        return saved;
+    }
+
+    /**
+     * Registra en el outbox las notificaciones de un nuevo registro (aviso al ADMIN y bienvenida al usuario).
+     */
+    private void registrarNotificacionesRegistro(UserEntity user, String nombreUsuario) {
+        notificacionEventService.enviarNotificacionNuevoRegistro(user.getEmail(), user.getId(), nombreUsuario);
+        notificacionEventService.enviarNotificacionBienvenidaRegistro(user.getEmail(), user.getId(), nombreUsuario);
+    }
+
+    /**
+     * Registra en el outbox las notificaciones de inicio de sesión con Firebase (usuario y ADMIN),
+     * salvo que la cuenta esté desactivada.
+     */
+    private void registrarNotificacionesInicioSesionFirebase(UserEntity user) {
+        if (!user.isActivo()) {
+            return;
+        }
+        String nombreUsuario = user.getDisplayName() != null
+                ? user.getDisplayName()
+                : user.getNombre() + " " + user.getApellido();
+        notificacionEventService.enviarNotificacionInicioSesionFirebase(user.getEmail(), user.getId(), nombreUsuario);
+        notificacionEventService.enviarNotificacionAdminInicioSesionFirebase(user.getEmail(), user.getId(), nombreUsuario);
     }
 
     /**
@@ -365,10 +418,53 @@ public class UserServiceImpl implements UserService{
     }
 
     @Override
-    public UserEntity marcarTerminosAceptados(Long userId) {
-        UserEntity user = findById(userId);
-        user.setTerminosAceptados(true);
-        return userRepository.save(user);
+    public Optional<UserSummary> findSummaryByEmail(String email) {
+        return userSummaryCache.getByEmail(email);
+    }
+
+    @Override
+    public Optional<UserSummary> findSummaryById(Long id) {
+        return userSummaryCache.getById(id);
+    }
+
+    /**
+     * Resuelve los datos básicos de un conjunto de usuarios por ID y/o email.
+     * Los valores repetidos o nulos se descartan; los usuarios en caché se resuelven
+     * sin consulta y el resto de cada lista con una única consulta IN.
+     *
+     * @param request IDs y emails a consultar.
+     * @return Usuarios encontrados y los IDs/emails inexistentes, en el orden solicitado.
+     */
+    @Override
+    public UserBatchResponse findSummaries(UserBatchRequest request) {
+        Set<Long> ids = distinctNonNull(request.getIds());
+        Set<String> emails = distinctNonNull(request.getEmails());
+
+        Map<Long, UserSummary> usersById = ids.isEmpty() ? Map.of() : userSummaryCache.getAllById(ids);
+        Map<String, UserSummary> usersByEmail = emails.isEmpty() ? Map.of() : userSummaryCache.getAllByEmail(emails);
+
+        List<Long> missingIds = ids.stream().filter(id -> !usersById.containsKey(id)).toList();
+        List<String> missingEmails = emails.stream().filter(email -> !usersByEmail.containsKey(email)).toList();
+
+        return new UserBatchResponse(usersById, usersByEmail, missingIds, missingEmails);
+    }
+
+    /**
+     * Elimina valores nulos y repetidos conservando el orden original.
+     */
+    private static <T> Set<T> distinctNonNull(List<T> values) {
+        Set<T> result = new LinkedHashSet<>();
+        if (values != null) {
+            values.stream().filter(Objects::nonNull).forEach(result::add);
+        }
+        return result;
+    }
+
+    @Override
+    public void marcarTerminosAceptados(Long userId) {
+        if (userRepository.markTermsAccepted(userId) == 0) {
+            throw new RuntimeException("Usuario no encontrado con ID: " + userId);
+        }
     }
 
     @Override
@@ -0,0 +1,101 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servicio que actualiza en segundo plano los hashes de contraseñas generados con un
+ * algoritmo o costo distinto al configurado.
+ * Se invoca tras un login exitoso, único momento en que se dispone de la contraseña en claro.
+ * El rehash es de mejor esfuerzo: si la cola está llena o falla, se reintenta en el próximo login.
+ * La actualización solo se aplica si el hash almacenado no cambió desde la verificación.
+ */
+@Service
+@Slf4j
+public class PasswordRehashService {
+
+    /** Repositorio para la actualización condicional del hash. */
+    private final UserRepository userRepository;
+
+    /** Codificador de contraseñas con el algoritmo y costo configurados. */
+    private final PasswordEncoder passwordEncoder;
+
+    /** Executor de un solo thread con cola acotada para los rehash pendientes. */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Construye el servicio con una cola acotada de rehash pendientes.
+     *
+     * @param userRepository Repositorio de usuarios.
+     * @param passwordEncoder Codificador de contraseñas de la aplicación.
+     * @param queueCapacity Cantidad máxima de rehash en espera.
+     */
+    public PasswordRehashService(UserRepository userRepository,
+                                 PasswordEncoder passwordEncoder,
+                                 @Value("${app.security.password.rehash-queue-capacity:100}") int queueCapacity) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-rehash");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Programa el rehash de la contraseña si su hash no usa el algoritmo o costo configurados.
+     *
+     * @param email Email del usuario.
+     * @param currentHash Hash almacenado con el que se verificó la contraseña.
+     * @param rawPassword Contraseña en claro ya verificada.
+     */
+    public void rehashIfNeeded(String email, String currentHash, String rawPassword) {
+        if (currentHash == null || !passwordEncoder.upgradeEncoding(currentHash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> rehash(email, currentHash, rawPassword));
+        } catch (RejectedExecutionException e) {
+            log.debug("Cola de rehash llena, se reintentará en el próximo login de {}", email);
+        }
+    }
+
+    /**
+     * Genera el nuevo hash y lo guarda si el almacenado no cambió.
+     *
+     * @param email Email del usuario.
+     * @param currentHash Hash almacenado con el que se verificó la contraseña.
+     * @param rawPassword Contraseña en claro ya verificada.
+     */
+    void rehash(String email, String currentHash, String rawPassword) {
+        try {
+            String newHash = passwordEncoder.encode(rawPassword);
+            if (userRepository.updatePasswordIfUnchanged(email, currentHash, newHash) == 1) {
+                log.info("Hash de contraseña actualizado para: {}", email);
+            } else {
+                log.debug("La contraseña de {} cambió antes del rehash, se descarta", email);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Error al rehashear la contraseña de {}: {}", email, e.getMessage());
+        }
+    }
+
+    /**
+     * Detiene el executor al cerrar la aplicación.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -34,6 +34,8 @@ public class PasswordResetService {
     private final EmailService emailService;
     /** Codificador para hashing de nuevas contraseñas. */
     private final PasswordEncoder passwordEncoder;
+    /** Refresh tokens, revocados al restablecer la contraseña. */
+    private final RefreshTokenService refreshTokenService;
 
     /** Generador seguro de números aleatorios para tokens. */
     private final SecureRandom secureRandom = new SecureRandom();
@@ -91,7 +93,8 @@ public class PasswordResetService {
 
     /**
      * Restablece la contraseña de un usuario usando un token de recuperación válido.
-     * Valida el token, verifica las contraseñas y actualiza la contraseña del usuario.
+     * Valida el token, verifica las contraseñas, actualiza la contraseña del usuario y
+     * revoca todos sus refresh tokens para cerrar las sesiones abiertas.
      *
      * @param token Token de recuperación de 6 dígitos.
      * @param newPassword Nueva contraseña del usuario.
@@ -132,6 +135,7 @@ public class PasswordResetService {
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
         log.info("Contraseña actualizada exitosamente para: {}", user.getEmail());
+        refreshTokenService.revokeAllForUser(user.getId());
 
         resetToken.setUsed(true);
         tokenRepository.save(resetToken);
@@ -0,0 +1,152 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.model.RefreshToken;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.repository.RefreshTokenRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.TokenDigests;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Servicio para la emisión y rotación de refresh tokens.
+ * Cada canje entrega un refresh token nuevo de la misma familia e invalida el anterior.
+ * Si se presenta un token ya canjeado (posible robo), se revoca la familia completa y
+ * el usuario debe volver a autenticarse.
+ * Las escrituras no comparten una transacción: la revocación por reutilización debe
+ * persistir aunque la operación termine en error.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    /** Cantidad de bytes aleatorios de cada refresh token (256 bits). */
+    private static final int TOKEN_BYTES = 32;
+
+    /** Repositorio para operaciones con refresh tokens. */
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    /** Vigencia de cada refresh token. */
+    private final Duration ttl;
+
+    /** Generador seguro de números aleatorios para tokens. */
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * Construye el servicio con la vigencia configurada de los refresh tokens.
+     *
+     * @param refreshTokenRepository Repositorio de refresh tokens.
+     * @param ttlDays Días de vigencia de cada refresh token.
+     */
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${app.jwt.refresh-token-ttl-days:14}") long ttlDays) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.ttl = Duration.ofDays(ttlDays);
+    }
+
+    /**
+     * Emite un refresh token que inicia una nueva familia (por ejemplo, tras un login).
+     *
+     * @param userId ID del usuario autenticado.
+     * @return Valor del refresh token para entregar al cliente.
+     */
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Canjea un refresh token por uno nuevo de la misma familia.
+     *
+     * @param rawToken Valor del refresh token presentado por el cliente.
+     * @return Resultado de la rotación con el usuario, la familia y el nuevo refresh token.
+     * @throws RuntimeException si el token no existe, expiró, fue revocado o ya había sido usado.
+     */
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(TokenDigests.sha256(rawToken))
+                .orElseThrow(() -> new RuntimeException("Refresh token inválido"));
+
+        if (current.isRevoked()) {
+            log.warn("Intento de canje de refresh token revocado para usuario ID: {}", current.getUserId());
+            throw new RuntimeException("Refresh token revocado");
+        }
+
+        if (current.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("El refresh token ha expirado. Inicia sesión nuevamente.");
+        }
+
+        if (current.isUsed() || refreshTokenRepository.markUsed(current.getId()) == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId());
+            log.warn("Reutilización de refresh token detectada para usuario ID: {}. Familia {} revocada ({} tokens)",
+                    current.getUserId(), current.getFamilyId(), revoked);
+            throw new RuntimeException("Refresh token reutilizado. Inicia sesión nuevamente.");
+        }
+
+        String next = issue(current.getUserId(), current.getFamilyId());
+        return new Rotation(current.getUserId(), current.getFamilyId(), next);
+    }
+
+    /**
+     * Revoca todos los refresh tokens de una familia.
+     *
+     * @param familyId Identificador de la familia.
+     */
+    public void revokeFamily(String familyId) {
+        refreshTokenRepository.revokeFamily(familyId);
+    }
+
+    /**
+     * Revoca todos los refresh tokens de un usuario (por ejemplo, tras un cambio de
+     * contraseña), cerrando todas sus sesiones abiertas.
+     *
+     * @param userId ID del usuario.
+     */
+    public void revokeAllForUser(Long userId) {
+        int revoked = refreshTokenRepository.revokeAllForUser(userId);
+        log.info("Refresh tokens revocados para usuario ID: {} ({} tokens)", userId, revoked);
+    }
+
+    /**
+     * Elimina los refresh tokens expirados.
+     * Operación programada que se resuelve con el índice sobre la fecha de expiración.
+     */
+    public void cleanupExpiredTokens() {
+        int deleted = refreshTokenRepository.deleteExpiredTokens(LocalDateTime.now());
+        log.debug("Limpieza de refresh tokens expirados completada: {} eliminados", deleted);
+    }
+
+    /**
+     * Genera, almacena (como digest) y retorna un refresh token de la familia indicada.
+     */
+    private String issue(Long userId, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(TokenDigests.sha256(rawToken))
+                .familyId(familyId)
+                .userId(userId)
+                .createdAt(now)
+                .expiresAt(now.plus(ttl))
+                .used(false)
+                .revoked(false)
+                .build());
+        return rawToken;
+    }
+
+    /**
+     * Resultado de la rotación de un refresh token.
+     *
+     * @param userId ID del usuario dueño del token.
+     * @param familyId Familia del token canjeado.
+     * @param refreshToken Nuevo refresh token para entregar al cliente.
+     */
+    public record Rotation(Long userId, String familyId, String refreshToken) {
+    }
+}
@@ -0,0 +1,188 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Registro en memoria de la última actividad de los usuarios con escritura diferida.
+ * En lugar de guardar la entidad completa en cada login, acumula las marcas de actividad
+ * (coalesciendo varias marcas del mismo usuario y conservando la más reciente) y las
+ * persiste periódicamente con UPDATE masivos de a lotes por ventana de flush, cada usuario
+ * con su propia marca.
+ * La actividad de cada request autenticado se muestrea: se registra como mucho una marca
+ * por usuario por intervalo de muestreo, de modo que la carga de escritura depende de la
+ * cantidad de usuarios activos y no de la cantidad de requests.
+ * La precisión de lastActivityAt queda acotada por el intervalo de muestreo más el de flush.
+ */
+@Service
+@Slf4j
+public class UserActivityTracker {
+
+    /** Cantidad máxima de usuarios recordados en la ventana de muestreo. */
+    private static final long MAX_SAMPLED_USERS = 100_000;
+
+    /** Repositorio para la actualización masiva de lastActivityAt. */
+    private final UserRepository userRepository;
+
+    /** Cantidad máxima de emails por sentencia UPDATE. */
+    private final int batchSize;
+
+    /** Marcas de actividad pendientes de persistir, indexadas por email. */
+    private final ConcurrentHashMap<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    /** Usuarios ya marcados dentro de la ventana de muestreo actual. */
+    private final Cache<String, Boolean> recentlyMarked;
+
+    /** Serializa los flushes para conservar el orden entre ventanas. */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * Construye el registro de actividad con la configuración de muestreo y lotes.
+     *
+     * @param userRepository Repositorio para la actualización masiva de lastActivityAt.
+     * @param sampleIntervalMinutes Minutos durante los cuales se ignoran nuevas marcas de un mismo usuario.
+     * @param batchSize Cantidad máxima de emails por sentencia UPDATE.
+     */
+    public UserActivityTracker(UserRepository userRepository,
+                               @Value("${app.activity.sample-interval-minutes:5}") long sampleIntervalMinutes,
+                               @Value("${app.activity.batch-size:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.batchSize = batchSize;
+        this.recentlyMarked = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(sampleIntervalMinutes))
+                .maximumSize(MAX_SAMPLED_USERS)
+                .build();
+    }
+
+    /**
+     * Registra actividad de un request autenticado, muestreada por usuario.
+     * Solo la primera marca de cada usuario dentro del intervalo de muestreo llega al
+     * buffer; el resto se descarta sin bloqueos.
+     *
+     * @param email Email del usuario autenticado.
+     */
+    public void markActivity(String email) {
+        if (recentlyMarked.asMap().putIfAbsent(email, Boolean.TRUE) == null) {
+            recordActivity(email);
+        }
+    }
+
+    /**
+     * Registra actividad del usuario en el instante actual.
+     *
+     * @param email Email del usuario.
+     */
+    public void recordActivity(String email) {
+        recordActivity(email, LocalDateTime.now());
+    }
+
+    /**
+     * Registra actividad del usuario en el instante indicado.
+     * Si ya había una marca pendiente para el usuario, se conserva la más reciente.
+     *
+     * @param email Email del usuario.
+     * @param activityAt Fecha y hora de la actividad.
+     */
+    public void recordActivity(String email, LocalDateTime activityAt) {
+        pending.merge(email, activityAt, UserActivityTracker::latest);
+    }
+
+    /**
+     * Persiste las marcas pendientes con UPDATE masivos de hasta batchSize usuarios.
+     * Se ejecuta periódicamente y puede invocarse manualmente (por ejemplo, antes de la
+     * desactivación automática de usuarios). Si un lote falla, sus marcas y las de los
+     * lotes restantes se vuelven a encolar para el próximo flush.
+     *
+     * @return Cantidad de usuarios actualizados.
+     */
+    @Scheduled(fixedDelayString = "${app.activity.flush-interval-ms:30000}")
+    public int flush() {
+        flushLock.lock();
+        try {
+            List<Map.Entry<String, LocalDateTime>> entries = new ArrayList<>(drain().entrySet());
+            int updated = 0;
+            for (int from = 0; from < entries.size(); from += batchSize) {
+                List<Map.Entry<String, LocalDateTime>> chunk =
+                        entries.subList(from, Math.min(from + batchSize, entries.size()));
+                try {
+                    updated += flushChunk(chunk);
+                } catch (RuntimeException e) {
+                    log.error("Error persistiendo actividad de usuarios, se reintentará: {}", e.getMessage());
+                    entries.subList(from, entries.size())
+                            .forEach(entry -> recordActivity(entry.getKey(), entry.getValue()));
+                    break;
+                }
+            }
+            if (!entries.isEmpty()) {
+                log.debug("Actividad persistida para {} usuarios ({} filas actualizadas)", entries.size(), updated);
+            }
+            return updated;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Persiste las marcas pendientes antes de detener la aplicación.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Persistiendo actividad de usuarios pendiente antes del apagado");
+        flush();
+    }
+
+    /**
+     * Cantidad de usuarios con actividad pendiente de persistir.
+     *
+     * @return Tamaño del buffer de actividad.
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Persiste un lote en una sola sentencia, con la marca propia de cada usuario.
+     */
+    private int flushChunk(List<Map.Entry<String, LocalDateTime>> chunk) {
+        String[] emails = new String[chunk.size()];
+        LocalDateTime[] activityAts = new LocalDateTime[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            emails[i] = chunk.get(i).getKey();
+            activityAts[i] = chunk.get(i).getValue();
+        }
+        return userRepository.updateLastActivityAt(emails, activityAts);
+    }
+
+    /**
+     * Extrae atómicamente, entrada por entrada, las marcas pendientes.
+     */
+    private Map<String, LocalDateTime> drain() {
+        Map<String, LocalDateTime> batch = new HashMap<>();
+        for (String email : pending.keySet()) {
+            LocalDateTime activityAt = pending.remove(email);
+            if (activityAt != null) {
+                batch.put(email, activityAt);
+            }
+        }
+        return batch;
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -1,5 +1,6 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services;
 
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit.UserCacheInvalidationService;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.model.UserEntity;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +18,12 @@ public class UserAutoDeactivationService {
 
     private final UserRepository userRepository;
 
+    /** Registro de actividad cuyas marcas pendientes se persisten antes de evaluar la inactividad. */
+    private final UserActivityTracker userActivityTracker;
+
+    /** Revocación e invalidación de caché, local y entre réplicas, tras la desactivación. */
+    private final UserCacheInvalidationService userCacheInvalidationService;
+
     /**
      * Ejecuta automáticamente cada día a las 2:00 AM para desactivar usuarios inactivos
      */
@@ -24,6 +31,9 @@ public class UserAutoDeactivationService {
     public void deactivateInactiveUsers() {
         log.info("🔍 Iniciando desactivación automática de usuarios inactivos...");
 
+        // Persistir la actividad pendiente para no desactivar usuarios activos recientemente
+        userActivityTracker.flush();
+
         LocalDateTime twoWeeksAgo = LocalDateTime.now().minusWeeks(2);
 
         // Encontrar usuarios que serán desactivados (para logging)
@@ -41,6 +51,7 @@ public class UserAutoDeactivationService {
 
         // Ejecutar la actualización masiva
         int deactivatedCount = userRepository.deactivateInactiveUsers(twoWeeksAgo);
+        usersToDeactivate.forEach(user -> userCacheInvalidationService.revoke(user.getId(), user.getEmail()));
 
         log.info("✅ Desactivación automática completada. Usuarios desactivados: {}", deactivatedCount);
     }
@@ -49,8 +60,13 @@ public class UserAutoDeactivationService {
      * Método manual para probar la desactivación
      */
     public int manualDeactivateInactiveUsers() {
+        userActivityTracker.flush();
         LocalDateTime twoWeeksAgo = LocalDateTime.now().minusWeeks(2);
-        return userRepository.deactivateInactiveUsers(twoWeeksAgo);
+        List<UserEntity> usersToDeactivate = userRepository
+                .findByActivoTrueAndLastActivityAtBefore(twoWeeksAgo);
+        int deactivatedCount = userRepository.deactivateInactiveUsers(twoWeeksAgo);
+        usersToDeactivate.forEach(user -> userCacheInvalidationService.revoke(user.getId(), user.getEmail()));
+        return deactivatedCount;
     }
 
 
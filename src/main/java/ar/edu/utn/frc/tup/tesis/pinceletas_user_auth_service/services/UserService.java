@@ -3,7 +3,10 @@ import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.auth.RegisterUs
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.ChangePasswordRequest;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UpdateAddressRequest;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UpdateUserRequest;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserBatchRequest;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserBatchResponse;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserResponse;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserSummary;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.model.UserEntity;
 import java.util.Optional;
 
@@ -140,11 +143,37 @@ public interface UserService {
     UserEntity findById(Long id);
 
     /**
+     * Obtiene los datos básicos de un usuario por email mediante una proyección.
      *
-     * @param userId
-     * @return
+     * @param email Email del usuario.
+     * @return Optional con los datos básicos si el usuario existe.
+     */
+    Optional<UserSummary> findSummaryByEmail(String email);
+
+    /**
+     * Obtiene los datos básicos de un usuario por ID mediante una proyección.
+     *
+     * @param id ID del usuario.
+     * @return Optional con los datos básicos si el usuario existe.
+     */
+    Optional<UserSummary> findSummaryById(Long id);
+
+    /**
+     * Resuelve los datos básicos de un conjunto de usuarios por ID y/o email.
+     * Cada lista se resuelve con una única consulta IN sobre una proyección.
+     *
+     * @param request IDs y emails a consultar.
+     * @return Usuarios encontrados y los IDs/emails inexistentes.
+     */
+    UserBatchResponse findSummaries(UserBatchRequest request);
+
+    /**
+     * Marca los términos y condiciones como aceptados por el usuario.
+     *
+     * @param userId ID del usuario.
+     * @throws RuntimeException si el usuario no existe.
      */
-    UserEntity marcarTerminosAceptados(Long userId);
+    void marcarTerminosAceptados(Long userId);
 
     /**
      *
@@ -0,0 +1,165 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserSummary;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Caché read-through de los datos básicos de usuarios (UserSummary), indexada por ID y por email.
+ * Atiende los endpoints de consulta entre microservicios sin ir a la base de datos en cada
+ * llamada. Las operaciones que modifican usuarios deben invalidar las entradas afectadas;
+ * el vencimiento por tiempo actúa solo como red de seguridad.
+ * Cada carga se registra en ambos índices, de modo que una invalidación por email encuentra
+ * el ID del usuario sin recorrer la caché.
+ * Las consultas de usuarios inexistentes no se almacenan.
+ */
+@Component
+@Slf4j
+public class UserSummaryCache {
+
+    /** Repositorio del que se cargan las proyecciones ausentes en caché. */
+    private final UserRepository userRepository;
+
+    /** Proyecciones indexadas por ID de usuario. */
+    private final Cache<Long, UserSummary> byId;
+
+    /** Proyecciones indexadas por email de usuario. */
+    private final Cache<String, UserSummary> byEmail;
+
+    /**
+     * Construye las cachés y registra sus métricas de aciertos, fallos y desalojos.
+     *
+     * @param userRepository Repositorio de usuarios.
+     * @param meterRegistry Registro de métricas de la aplicación.
+     * @param maxSize Cantidad máxima de entradas de cada índice.
+     * @param ttlMinutes Minutos de vigencia de cada entrada.
+     */
+    public UserSummaryCache(UserRepository userRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.users.cache.max-size:10000}") long maxSize,
+                            @Value("${app.users.cache.ttl-minutes:10}") long ttlMinutes) {
+        this.userRepository = userRepository;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, byEmail, "users.by-email");
+    }
+
+    /**
+     * Obtiene los datos básicos de un usuario por email, cargándolos si no están en caché.
+     *
+     * @param email Email del usuario.
+     * @return Optional con los datos básicos si el usuario existe.
+     */
+    public Optional<UserSummary> getByEmail(String email) {
+        return Optional.ofNullable(byEmail.get(email, key -> userRepository.findSummaryByEmail(key)
+                .map(summary -> {
+                    byId.put(summary.id(), summary);
+                    return summary;
+                })
+                .orElse(null)));
+    }
+
+    /**
+     * Obtiene los datos básicos de un usuario por ID, cargándolos si no están en caché.
+     *
+     * @param id ID del usuario.
+     * @return Optional con los datos básicos si el usuario existe.
+     */
+    public Optional<UserSummary> getById(Long id) {
+        return Optional.ofNullable(byId.get(id, key -> userRepository.findSummaryById(key)
+                .map(summary -> {
+                    byEmail.put(summary.email(), summary);
+                    return summary;
+                })
+                .orElse(null)));
+    }
+
+    /**
+     * Obtiene los datos básicos de varios usuarios por ID.
+     * Los IDs ausentes en caché se cargan juntos con una única consulta IN.
+     *
+     * @param ids IDs de los usuarios.
+     * @return Usuarios encontrados indexados por ID.
+     */
+    public Map<Long, UserSummary> getAllById(Collection<Long> ids) {
+        return byId.getAll(ids, missing -> userRepository.findSummariesByIdIn(List.copyOf(missing)).stream()
+                .peek(summary -> byEmail.put(summary.email(), summary))
+                .collect(Collectors.toMap(UserSummary::id, Function.identity())));
+    }
+
+    /**
+     * Obtiene los datos básicos de varios usuarios por email.
+     * Los emails ausentes en caché se cargan juntos con una única consulta IN.
+     *
+     * @param emails Emails de los usuarios.
+     * @return Usuarios encontrados indexados por email.
+     */
+    public Map<String, UserSummary> getAllByEmail(Collection<String> emails) {
+        return byEmail.getAll(emails, missing -> userRepository.findSummariesByEmailIn(List.copyOf(missing)).stream()
+                .peek(summary -> byId.put(summary.id(), summary))
+                .collect(Collectors.toMap(UserSummary::email, Function.identity())));
+    }
+
+    /**
+     * Invalida las entradas de un usuario en ambos índices.
+     *
+     * @param id ID del usuario (puede ser null).
+     * @param email Email del usuario (puede ser null).
+     */
+    public void evict(Long id, String email) {
+        if (id != null) {
+            UserSummary cached = byId.asMap().remove(id);
+            if (cached != null) {
+                byEmail.invalidate(cached.email());
+            }
+        }
+        if (email != null) {
+            evictByEmail(email);
+        }
+    }
+
+    /**
+     * Invalida las entradas de un usuario conociendo solo su email.
+     * El ID se toma de la entrada por email, registrada junto con la entrada por ID en cada carga.
+     *
+     * @param email Email del usuario.
+     */
+    public void evictByEmail(String email) {
+        UserSummary cached = byEmail.asMap().remove(email);
+        if (cached != null) {
+            byId.invalidate(cached.id());
+        }
+    }
+
+    /**
+     * Invalida todas las entradas, por ejemplo tras una actualización masiva.
+     */
+    public void invalidateAll() {
+        byId.invalidateAll();
+        byEmail.invalidateAll();
+        log.debug("Caché de usuarios invalidada por completo");
+    }
+}
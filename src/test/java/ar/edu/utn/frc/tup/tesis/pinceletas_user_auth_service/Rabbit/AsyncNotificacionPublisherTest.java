@@ -0,0 +1,204 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit.events.NotificacionEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncNotificacionPublisherTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AsyncNotificacionPublisher publisher;
+
+    private AsyncNotificacionPublisher publisher(int capacity, AsyncNotificacionPublisher.OverflowPolicy policy) {
+        publisher = new AsyncNotificacionPublisher(rabbitTemplate, meterRegistry,
+                "notificaciones.exchange", "notificaciones.key", capacity, policy, 2000);
+        return publisher;
+    }
+
+    private AsyncNotificacionPublisher batchPublisher(int batchSize, long windowMs, long confirmTimeoutMs, int maxRetries) {
+        publisher = new AsyncNotificacionPublisher(rabbitTemplate, meterRegistry,
+                "notificaciones.exchange", "notificaciones.key", 100,
+                AsyncNotificacionPublisher.OverflowPolicy.DROP_OLDEST, 2000,
+                AsyncNotificacionPublisher.PublishMode.BATCH, batchSize, windowMs, confirmTimeoutMs, maxRetries);
+        return publisher;
+    }
+
+    /** Simula las confirmaciones del broker: rechaza una vez los eventos del tipo indicado y confirma el resto. */
+    private void confirmRejectingOnce(String tipoRechazado) {
+        Set<String> rejected = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            NotificacionEvent evento = invocation.getArgument(2);
+            CorrelationData correlation = invocation.getArgument(3);
+            boolean ack = !evento.getTipo().equals(tipoRechazado) || !rejected.add(evento.getTipo());
+            correlation.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+    }
+
+    private static NotificacionEvent evento(String tipo) {
+        return new NotificacionEvent("Titulo", "Mensaje", tipo, 1L, "{}", "USER");
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.shutdown();
+    }
+
+    @Test
+    void enqueue_PublishesInBackground() {
+        // Arrange
+        publisher(10, AsyncNotificacionPublisher.OverflowPolicy.DROP_OLDEST).start();
+        NotificacionEvent evento = evento("INICIO_SESION");
+
+        // Act
+        boolean accepted = publisher.enqueue(evento);
+
+        // Assert
+        assertTrue(accepted);
+        verify(rabbitTemplate, timeout(2000).times(1))
+                .convertAndSend("notificaciones.exchange", "notificaciones.key", evento);
+    }
+
+    @Test
+    void enqueue_QueueFull_DropNewestDiscardsIncomingEvent() {
+        // Arrange
+        publisher(1, AsyncNotificacionPublisher.OverflowPolicy.DROP_NEWEST);
+        publisher.enqueue(evento("PRIMERO"));
+
+        // Act
+        boolean accepted = publisher.enqueue(evento("SEGUNDO"));
+
+        // Assert
+        assertFalse(accepted);
+        assertEquals(1, publisher.pendingCount());
+        assertEquals(1.0, meterRegistry.get("notificaciones.publisher.dropped").counter().count());
+    }
+
+    @Test
+    void enqueue_QueueFull_DropOldestKeepsIncomingEvent() {
+        // Arrange
+        publisher(1, AsyncNotificacionPublisher.OverflowPolicy.DROP_OLDEST);
+        publisher.enqueue(evento("PRIMERO"));
+        NotificacionEvent segundo = evento("SEGUNDO");
+        publisher.enqueue(segundo);
+
+        // Act
+        publisher.start();
+
+        // Assert
+        verify(rabbitTemplate, timeout(2000).times(1)).convertAndSend("notificaciones.exchange", "notificaciones.key", segundo);
+        verify(rabbitTemplate, times(1)).convertAndSend(anyString(), anyString(), any(Object.class));
+    }
+
+    @Test
+    void shutdown_DrainsPendingEvents() {
+        // Arrange
+        publisher(10, AsyncNotificacionPublisher.OverflowPolicy.DROP_OLDEST);
+        publisher.enqueue(evento("A"));
+        publisher.enqueue(evento("B"));
+        publisher.enqueue(evento("C"));
+        publisher.start();
+
+        // Act
+        publisher.shutdown();
+
+        // Assert
+        verify(rabbitTemplate, times(3)).convertAndSend(anyString(), anyString(), any(Object.class));
+        assertEquals(0, publisher.pendingCount());
+        assertFalse(publisher.enqueue(evento("D")));
+    }
+
+    @Test
+    void publish_BrokerFailure_CountsAndContinues() {
+        // Arrange
+        doThrow(new RuntimeException("Conexión rechazada"))
+                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class));
+        publisher(10, AsyncNotificacionPublisher.OverflowPolicy.DROP_OLDEST).start();
+
+        // Act
+        publisher.enqueue(evento("A"));
+        publisher.shutdown();
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("notificaciones.publisher.failed").counter().count());
+    }
+
+    @Test
+    void batch_GroupsEventsAndConfirmsEachOnce() {
+        // Arrange
+        confirmRejectingOnce("NINGUNO");
+        batchPublisher(3, 1000, 1000, 3);
+        publisher.enqueue(evento("A"));
+        publisher.enqueue(evento("B"));
+        publisher.enqueue(evento("C"));
+
+        // Act
+        publisher.start();
+        publisher.shutdown();
+
+        // Assert
+        verify(rabbitTemplate, times(3)).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+        verify(rabbitTemplate, never()).convertAndSend(anyString(), anyString(), any(Object.class));
+        assertEquals(3.0, meterRegistry.get("notificaciones.publisher.published").counter().count());
+        assertEquals(1, meterRegistry.get("notificaciones.publisher.batch.size").summary().count());
+        assertEquals(1, meterRegistry.get("notificaciones.publisher.latency").timer().count());
+    }
+
+    @Test
+    void batch_RetriesOnlyNackedEvents() {
+        // Arrange
+        confirmRejectingOnce("B");
+        batchPublisher(3, 1000, 1000, 3);
+        NotificacionEvent a = evento("A");
+        NotificacionEvent b = evento("B");
+        publisher.enqueue(a);
+        publisher.enqueue(b);
+        publisher.enqueue(evento("C"));
+
+        // Act
+        publisher.start();
+        publisher.shutdown();
+
+        // Assert
+        verify(rabbitTemplate, times(1)).convertAndSend(eq("notificaciones.exchange"), eq("notificaciones.key"),
+                eq(a), any(CorrelationData.class));
+        verify(rabbitTemplate, times(2)).convertAndSend(eq("notificaciones.exchange"), eq("notificaciones.key"),
+                eq(b), any(CorrelationData.class));
+        assertEquals(3.0, meterRegistry.get("notificaciones.publisher.published").counter().count());
+        assertEquals(1.0, meterRegistry.get("notificaciones.publisher.retried").counter().count());
+    }
+
+    @Test
+    void batch_UnconfirmedAfterRetries_CountsAsFailed() {
+        // Arrange
+        batchPublisher(10, 0, 50, 1);
+        publisher.enqueue(evento("A"));
+
+        // Act
+        publisher.start();
+        publisher.shutdown();
+
+        // Assert
+        verify(rabbitTemplate, times(2)).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+        assertEquals(0.0, meterRegistry.get("notificaciones.publisher.published").counter().count());
+        assertEquals(1.0, meterRegistry.get("notificaciones.publisher.failed").counter().count());
+    }
+}
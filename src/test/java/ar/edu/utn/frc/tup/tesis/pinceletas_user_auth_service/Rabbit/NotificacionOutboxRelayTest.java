@@ -0,0 +1,170 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit.events.NotificacionEvent;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.model.NotificacionOutbox;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.repository.NotificacionOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificacionOutboxRelayTest {
+
+    @Mock
+    private NotificacionOutboxRepository outboxRepository;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private NotificacionOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new NotificacionOutboxRelay(outboxRepository, rabbitTemplate,
+                "notificaciones.exchange", "notificaciones.key", 100, 200, 24, 3, 60000);
+    }
+
+    private static NotificacionOutbox row(long id) {
+        return row(id, 0);
+    }
+
+    private static NotificacionOutbox row(long id, int attempts) {
+        return NotificacionOutbox.builder()
+                .id(id)
+                .titulo("Titulo")
+                .mensaje("Mensaje")
+                .tipo("NUEVO_REGISTRO")
+                .metadata("{}")
+                .targetRole("ADMIN")
+                .createdAt(LocalDateTime.now())
+                .attempts(attempts)
+                .build();
+    }
+
+    /** Simula las confirmaciones del broker: ack para todos los IDs salvo el indicado. */
+    private void confirmAllExcept(long nackedId) {
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            boolean ack = !correlation.getId().equals(String.valueOf(nackedId));
+            correlation.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+    }
+
+    @Test
+    void relay_MarksOnlyConfirmedEventsAsPublished() {
+        // Arrange
+        when(outboxRepository.claimPendingBatch(eq(100), eq(3), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(List.of(row(1), row(2), row(3)));
+        confirmAllExcept(2);
+
+        // Act
+        int published = relay.relay();
+
+        // Assert
+        assertEquals(2, published);
+        verify(outboxRepository, times(1)).markPublished(eq(List.of(1L, 3L)), any(LocalDateTime.class));
+        verify(outboxRepository, times(1)).incrementAttempts(List.of(2L));
+    }
+
+    @Test
+    void relay_NoConfirmationBeforeTimeout_KeepsEventPending() {
+        // Arrange
+        when(outboxRepository.claimPendingBatch(eq(100), eq(3), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(List.of(row(1)));
+
+        // Act
+        int published = relay.relay();
+
+        // Assert
+        assertEquals(0, published);
+        verify(rabbitTemplate, times(1)).convertAndSend(eq("notificaciones.exchange"), eq("notificaciones.key"),
+                any(NotificacionEvent.class), any(CorrelationData.class));
+        verify(outboxRepository, never()).markPublished(anyCollection(), any(LocalDateTime.class));
+        verify(outboxRepository, times(1)).incrementAttempts(List.of(1L));
+    }
+
+    @Test
+    void relay_BrokerDown_StopsBatchAtFirstFailure() {
+        // Arrange
+        when(outboxRepository.claimPendingBatch(eq(100), eq(3), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(List.of(row(1), row(2)));
+        doThrow(new AmqpConnectException(new ConnectException("Conexión rechazada")))
+                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+
+        // Act
+        int published = relay.relay();
+
+        // Assert
+        assertEquals(0, published);
+        verify(rabbitTemplate, times(1)).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+        verify(outboxRepository, times(1)).incrementAttempts(List.of(1L));
+        verify(outboxRepository, times(1)).releaseClaims(List.of(2L));
+    }
+
+    @Test
+    void relay_PoisonEvent_IsSkippedWithoutBlockingBatch() {
+        // Arrange
+        when(outboxRepository.claimPendingBatch(eq(100), eq(3), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(row(3), row(1), row(2)));
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            if (correlation.getId().equals("1")) {
+                throw new MessageConversionException("Metadata inválida");
+            }
+            correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+
+        // Act
+        int published = relay.relay();
+
+        // Assert
+        assertEquals(2, published);
+        verify(outboxRepository, times(1)).markPublished(eq(List.of(2L, 3L)), any(LocalDateTime.class));
+        verify(outboxRepository, times(1)).incrementAttempts(List.of(1L));
+        verify(outboxRepository, never()).releaseClaims(anyCollection());
+    }
+
+    @Test
+    void relay_ClaimsOnlyEventsBelowMaxAttemptsWithLeaseBeyondConfirmTimeout() {
+        // Arrange
+        when(outboxRepository.claimPendingBatch(anyInt(), anyInt(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+
+        // Act
+        relay.relay();
+
+        // Assert
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> claimedUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepository).claimPendingBatch(eq(100), eq(3), now.capture(), claimedUntil.capture());
+        assertEquals(60000, Duration.between(now.getValue(), claimedUntil.getValue()).toMillis());
+    }
+
+    @Test
+    void relay_EmptyOutbox_DoesNotPublish() {
+        // Arrange
+        when(outboxRepository.claimPendingBatch(eq(100), eq(3), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(List.of());
+
+        // Act
+        int published = relay.relay();
+
+        // Assert
+        assertEquals(0, published);
+        verifyNoInteractions(rabbitTemplate);
+    }
+}
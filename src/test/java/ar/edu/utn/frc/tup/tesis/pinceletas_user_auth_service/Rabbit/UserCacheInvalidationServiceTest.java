@@ -0,0 +1,152 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit.events.UserCacheInvalidationEvent;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.UserRevocationRegistry;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.UserSummaryCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Simula dos réplicas conectadas al mismo exchange fanout: el RabbitTemplate de la réplica
+ * A actúa como broker y entrega los eventos publicados a los listeners de ambas réplicas.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserCacheInvalidationServiceTest {
+
+    private static final String EXCHANGE = "usuarios.cache.invalidation";
+
+    @Mock
+    private UserSummaryCache cacheA;
+
+    @Mock
+    private UserSummaryCache cacheB;
+
+    @Mock
+    private UserRevocationRegistry registryA;
+
+    @Mock
+    private UserRevocationRegistry registryB;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private UserCacheInvalidationService replicaA;
+    private UserCacheInvalidationService replicaB;
+
+    @BeforeEach
+    void setUp() {
+        // Executor sincrónico: la difusión ocurre en el mismo thread para poder verificarla
+        replicaA = new UserCacheInvalidationService(cacheA, registryA, rabbitTemplate, meterRegistry, EXCHANGE,
+                Runnable::run, 3, 0);
+        replicaB = new UserCacheInvalidationService(cacheB, registryB, rabbitTemplate, meterRegistry, EXCHANGE,
+                Runnable::run, 3, 0);
+    }
+
+    private UserCacheInvalidationEvent publishedEvent() {
+        ArgumentCaptor<UserCacheInvalidationEvent> captor = ArgumentCaptor.forClass(UserCacheInvalidationEvent.class);
+        verify(rabbitTemplate).convertAndSend(eq(EXCHANGE), eq(""), captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void invalidate_EvictsLocallyAndOnOtherReplicas() {
+        // Act
+        replicaA.invalidate(1L, "juan.perez@example.com");
+        UserCacheInvalidationEvent event = publishedEvent();
+        replicaA.onInvalidation(event);
+        replicaB.onInvalidation(event);
+
+        // Assert
+        verify(cacheA, times(1)).evict(1L, "juan.perez@example.com");
+        verify(cacheB, times(1)).evict(1L, "juan.perez@example.com");
+        verify(registryB, never()).revoke(anyString());
+        assertEquals(replicaA.getInstanceId(), event.getOriginId());
+    }
+
+    @Test
+    void revoke_RevokesUserOnEveryReplica() {
+        // Act
+        replicaA.revoke(1L, "juan.perez@example.com");
+        replicaB.onInvalidation(publishedEvent());
+
+        // Assert
+        verify(registryA, times(1)).revoke("juan.perez@example.com");
+        verify(registryB, times(1)).revoke("juan.perez@example.com");
+        verify(cacheB, times(1)).evict(1L, "juan.perez@example.com");
+    }
+
+    @Test
+    void invalidateAll_ClearsEveryReplica() {
+        // Act
+        replicaA.invalidateAll();
+        replicaB.onInvalidation(publishedEvent());
+
+        // Assert
+        verify(cacheA, times(1)).invalidateAll();
+        verify(cacheB, times(1)).invalidateAll();
+        verify(cacheB, never()).evict(any(), any());
+    }
+
+    @Test
+    void invalidate_BrokerUnavailable_StillEvictsLocally() {
+        // Arrange
+        doThrow(new AmqpException("Connection refused"))
+                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class));
+
+        // Act
+        assertDoesNotThrow(() -> replicaA.invalidateEmail("juan.perez@example.com"));
+
+        // Assert
+        verify(cacheA, times(1)).evict(null, "juan.perez@example.com");
+        assertEquals(1.0, meterRegistry.get("usuarios.cache.invalidation.failed")
+                .tag("revoked", "false").counter().count());
+    }
+
+    @Test
+    void revoke_BrokerFailsTransiently_RetriesRevocation() {
+        // Arrange
+        doThrow(new AmqpException("Connection refused"))
+                .doNothing()
+                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class));
+
+        // Act
+        replicaA.revoke(1L, "juan.perez@example.com");
+
+        // Assert
+        verify(rabbitTemplate, times(2)).convertAndSend(eq(EXCHANGE), eq(""), any(Object.class));
+        assertTrue(meterRegistry.find("usuarios.cache.invalidation.failed").counters().isEmpty());
+    }
+
+    @Test
+    void invalidate_PublisherQueueFull_CountsFailureWithoutBlocking() {
+        // Arrange
+        UserCacheInvalidationService saturated = new UserCacheInvalidationService(cacheA, registryA, rabbitTemplate,
+                meterRegistry, EXCHANGE, runnable -> {
+                    throw new RejectedExecutionException("Cola llena");
+                }, 3, 0);
+
+        // Act
+        assertDoesNotThrow(() -> saturated.invalidate(1L, "juan.perez@example.com"));
+
+        // Assert
+        verify(cacheA, times(1)).evict(1L, "juan.perez@example.com");
+        verifyNoInteractions(rabbitTemplate);
+        assertEquals(1.0, meterRegistry.get("usuarios.cache.invalidation.failed")
+                .tag("reason", "rejected").counter().count());
+    }
+}
@@ -0,0 +1,82 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FirebaseHealthIndicatorTest {
+
+    @Mock
+    private FirebaseConfig firebaseConfig;
+
+    @Test
+    void health_SdkMode_NotStarted_IsUp() {
+        assertEquals(Status.UP, health("sdk", FirebaseConfig.State.NOT_STARTED).getStatus());
+    }
+
+    @Test
+    void health_SdkMode_Initializing_IsOutOfService() {
+        assertEquals(Status.OUT_OF_SERVICE, health("sdk", FirebaseConfig.State.INITIALIZING).getStatus());
+    }
+
+    @Test
+    void health_SdkMode_Failed_IsOutOfService() {
+        assertEquals(Status.OUT_OF_SERVICE, health("sdk", FirebaseConfig.State.FAILED).getStatus());
+    }
+
+    @Test
+    void health_SdkMode_Ready_IsUpWithInitTime() {
+        // Arrange
+        when(firebaseConfig.getInitMillis()).thenReturn(350L);
+
+        // Act
+        Health health = health("sdk", FirebaseConfig.State.READY);
+
+        // Assert
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals("READY", health.getDetails().get("state"));
+        assertEquals(350L, health.getDetails().get("initMillis"));
+    }
+
+    @Test
+    void health_LocalMode_NotStarted_IsUp() {
+        assertEquals(Status.UP, health("local", FirebaseConfig.State.NOT_STARTED).getStatus());
+    }
+
+    @Test
+    void health_LocalMode_Initializing_IsUnknown() {
+        assertEquals(Status.UNKNOWN, health("local", FirebaseConfig.State.INITIALIZING).getStatus());
+    }
+
+    @Test
+    void health_LocalMode_Failed_IsUnknown() {
+        // Act
+        Health health = health("local", FirebaseConfig.State.FAILED);
+
+        // Assert
+        assertEquals(Status.UNKNOWN, health.getStatus());
+        assertEquals("FAILED", health.getDetails().get("state"));
+        assertFalse(health.getDetails().containsKey("initMillis"));
+    }
+
+    @Test
+    void health_LocalMode_Ready_IsUp() {
+        // Arrange
+        when(firebaseConfig.getInitMillis()).thenReturn(350L);
+
+        // Act & Assert
+        assertEquals(Status.UP, health("local", FirebaseConfig.State.READY).getStatus());
+    }
+
+    private Health health(String verificationMode, FirebaseConfig.State state) {
+        when(firebaseConfig.getState()).thenReturn(state);
+        return new FirebaseHealthIndicator(firebaseConfig, verificationMode).health();
+    }
+}
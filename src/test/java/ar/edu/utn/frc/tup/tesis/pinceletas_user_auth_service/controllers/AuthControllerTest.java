@@ -257,4 +257,23 @@ class AuthControllerTest {
         assertThrows(RuntimeException.class, () -> authController.registerWithFirebase(firebaseRegisterRequest));
         verify(authService, times(1)).registerWithFirebase(any(FirebaseRegisterRequest.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void refresh_Success() {
+        // Arrange
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken("refresh-token-123");
+        when(authService.refresh(any(RefreshTokenRequest.class)))
+                .thenReturn(new AuthResponse("jwt-token-456", "refresh-token-456"));
+
+        // Act
+        ResponseEntity<AuthResponse> response = authController.refresh(request);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("jwt-token-456", response.getBody().getToken());
+        assertEquals("refresh-token-456", response.getBody().getRefreshToken());
+        verify(authService, times(1)).refresh(request);
+    }
+}
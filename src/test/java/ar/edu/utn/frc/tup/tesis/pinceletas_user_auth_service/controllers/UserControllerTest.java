@@ -4,6 +4,7 @@ import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.ChangePass
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UpdateAddressRequest;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UpdateUserRequest;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserResponse;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserSummary;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.enums.RoleEnum;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,8 +16,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -267,4 +272,61 @@ class UserControllerTest {
         assertThrows(RuntimeException.class, () -> userController.deactivateUser(testEmail));
         verify(userService, times(1)).deactivateUser(testEmail);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUserByEmail_ReturnsProjection() {
+        // Arrange
+        when(userService.findSummaryByEmail(testEmail))
+                .thenReturn(Optional.of(new UserSummary(1L, testEmail, "Juan", "Pérez", RoleEnum.USER)));
+
+        // Act
+        ResponseEntity<UserController.UserBasicInfo> response = userController.getUserByEmail(testEmail);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(1L, response.getBody().id());
+        assertEquals("USER", response.getBody().role());
+        verify(userService, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void getUserByEmail_UserNotFound() {
+        // Arrange
+        when(userService.findSummaryByEmail(testEmail)).thenReturn(Optional.empty());
+
+        // Act
+        ResponseEntity<UserController.UserBasicInfo> response = userController.getUserByEmail(testEmail);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void getUserEmailById_ReturnsProjection() {
+        // Arrange
+        when(userService.findSummaryById(1L))
+                .thenReturn(Optional.of(new UserSummary(1L, testEmail, "Juan", "Pérez", RoleEnum.USER)));
+
+        // Act
+        ResponseEntity<UserController.UserEmailInfo> response = userController.getUserEmailById(1L);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(testEmail, response.getBody().email());
+        verify(userService, never()).findById(anyLong());
+    }
+
+    @Test
+    void getUserEmailById_UserNotFound() {
+        // Arrange
+        when(userService.findSummaryById(99L)).thenReturn(Optional.empty());
+
+        // Act
+        ResponseEntity<UserController.UserEmailInfo> response = userController.getUserEmailById(99L);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
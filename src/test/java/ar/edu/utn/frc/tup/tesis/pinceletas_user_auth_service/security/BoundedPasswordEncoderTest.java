@@ -0,0 +1,99 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    /** Codificador que bloquea cada verificación hasta que el test la libere. */
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return encodedPassword.equals("hash:" + rawPassword);
+            }
+        };
+    }
+
+    private double queued() {
+        return meterRegistry.get("executor.queued").tag("name", BoundedPasswordEncoder.METRIC_NAME).gauge().value();
+    }
+
+    @Test
+    void encode_DelegatesToWrappedEncoder() {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 1, 1000, meterRegistry);
+
+        // Act
+        String hash = encoder.encode("password123");
+
+        // Assert
+        assertEquals("hash:password123", hash);
+    }
+
+    @Test
+    void matches_PoolSaturated_RejectsImmediately() throws Exception {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 1, 5000, meterRegistry);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "hash:a"));
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> encoder.matches("b", "hash:b"));
+        long deadline = System.currentTimeMillis() + 2000;
+        while (queued() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Act & Assert
+        assertThrows(PasswordHashingRejectedException.class, () -> encoder.matches("c", "hash:c"));
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(running.get(2, TimeUnit.SECONDS));
+        assertTrue(waiting.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void matches_SlowerThanTimeout_Rejects() {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 1, 50, meterRegistry);
+
+        // Act & Assert
+        assertThrows(PasswordHashingRejectedException.class, () -> encoder.matches("a", "hash:a"));
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+    }
+}
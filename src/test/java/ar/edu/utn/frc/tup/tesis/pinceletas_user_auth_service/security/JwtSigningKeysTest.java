@@ -0,0 +1,99 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtSigningKeysTest {
+
+    private static String encode(byte[] bytes) {
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    private static JwtSigningKeys es256(String kid, KeyPair keyPair, String previousPublicKeys, boolean acceptHs256) {
+        return new JwtSigningKeys("ES256", acceptHs256, kid,
+                encode(keyPair.getPrivate().getEncoded()),
+                encode(keyPair.getPublic().getEncoded()),
+                previousPublicKeys);
+    }
+
+    @Test
+    void es256_TokenIsVerifiedWithPublishedKey() {
+        // Arrange
+        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        JwtService jwtService = new JwtService(es256("key-2024", keyPair, "", true));
+
+        // Act
+        String token = jwtService.generateToken("juan.perez@example.com", "ADMIN");
+        TokenVerificationResult result = jwtService.verify(token);
+
+        // Assert
+        assertTrue(result.isValid());
+        assertEquals("juan.perez@example.com", result.principal().subject());
+        assertEquals("ADMIN", result.principal().role());
+    }
+
+    @Test
+    void es256_RotatedKeyStillVerifiesTokensSignedWithPreviousKey() {
+        // Arrange
+        KeyPair oldKeyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        KeyPair newKeyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        JwtService beforeRotation = new JwtService(es256("old", oldKeyPair, "", true));
+        JwtService afterRotation = new JwtService(es256("new", newKeyPair,
+                "old:" + encode(oldKeyPair.getPublic().getEncoded()), true));
+
+        // Act
+        String oldToken = beforeRotation.generateToken("juan.perez@example.com");
+        String newToken = afterRotation.generateToken("juan.perez@example.com");
+
+        // Assert
+        assertTrue(afterRotation.verify(oldToken).isValid());
+        assertTrue(afterRotation.verify(newToken).isValid());
+        assertEquals(TokenFailureReason.INVALID_SIGNATURE, beforeRotation.verify(newToken).failureReason());
+    }
+
+    @Test
+    void es256_Hs256TokensRejectedWhenNotAccepted() {
+        // Arrange
+        String hs256Token = new JwtService(JwtSigningKeys.hmac()).generateToken("juan.perez@example.com");
+        JwtService jwtService = new JwtService(es256("key", Keys.keyPairFor(SignatureAlgorithm.ES256), "", false));
+
+        // Act
+        TokenVerificationResult result = jwtService.verify(hs256Token);
+
+        // Assert
+        assertFalse(result.isValid());
+        assertEquals(TokenFailureReason.UNSUPPORTED, result.failureReason());
+    }
+
+    @Test
+    void getPublicJwks_PublishesActiveAndPreviousKeys() {
+        // Arrange
+        KeyPair oldKeyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        JwtSigningKeys signingKeys = es256("new", Keys.keyPairFor(SignatureAlgorithm.ES256),
+                "old:" + encode(oldKeyPair.getPublic().getEncoded()), true);
+
+        // Act
+        List<Map<String, Object>> jwks = signingKeys.getPublicJwks();
+
+        // Assert
+        assertEquals(2, jwks.size());
+        assertEquals("new", jwks.get(0).get("kid"));
+        assertEquals("old", jwks.get(1).get("kid"));
+        assertEquals("EC", jwks.get(0).get("kty"));
+        assertEquals(43, ((String) jwks.get(0).get("x")).length());
+        assertEquals(43, ((String) jwks.get(0).get("y")).length());
+    }
+
+    @Test
+    void hmac_PublishesNoKeys() {
+        assertTrue(JwtSigningKeys.hmac().getPublicJwks().isEmpty());
+    }
+}
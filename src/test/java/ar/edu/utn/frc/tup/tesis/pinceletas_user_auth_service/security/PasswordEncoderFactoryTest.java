@@ -0,0 +1,67 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordEncoderFactoryTest {
+
+    @Test
+    void create_LegacyUnprefixedBcryptHash_MatchesAndNeedsUpgrade() {
+        // Arrange
+        String legacyHash = new BCryptPasswordEncoder(4).encode("password123");
+        PasswordEncoder encoder = PasswordEncoderFactory.create("bcrypt", 4);
+
+        // Act & Assert
+        assertTrue(encoder.matches("password123", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+    }
+
+    @Test
+    void create_BcryptHashWithTargetStrength_DoesNotNeedUpgrade() {
+        // Arrange
+        PasswordEncoder encoder = PasswordEncoderFactory.create("bcrypt", 4);
+
+        // Act
+        String hash = encoder.encode("password123");
+
+        // Assert
+        assertTrue(hash.startsWith("{bcrypt}$2a$04$"));
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    void create_BcryptHashWithHigherStrength_NeedsDowngrade() {
+        // Arrange
+        String strongerHash = PasswordEncoderFactory.create("bcrypt", 5).encode("password123");
+        PasswordEncoder encoder = PasswordEncoderFactory.create("bcrypt", 4);
+
+        // Act & Assert
+        assertTrue(encoder.matches("password123", strongerHash));
+        assertTrue(encoder.upgradeEncoding(strongerHash));
+    }
+
+    @Test
+    void create_AlgorithmChanged_OldHashesStillMatchAndNeedUpgrade() {
+        // Arrange
+        String bcryptHash = PasswordEncoderFactory.create("bcrypt", 4).encode("password123");
+        PasswordEncoder encoder = PasswordEncoderFactory.create("pbkdf2", 4);
+
+        // Act
+        String pbkdf2Hash = encoder.encode("password123");
+
+        // Assert
+        assertTrue(pbkdf2Hash.startsWith("{pbkdf2}"));
+        assertTrue(encoder.matches("password123", bcryptHash));
+        assertTrue(encoder.upgradeEncoding(bcryptHash));
+        assertFalse(encoder.upgradeEncoding(pbkdf2Hash));
+    }
+
+    @Test
+    void create_UnknownAlgorithm_ThrowsException() {
+        assertThrows(IllegalStateException.class, () -> PasswordEncoderFactory.create("md5", 10));
+    }
+}
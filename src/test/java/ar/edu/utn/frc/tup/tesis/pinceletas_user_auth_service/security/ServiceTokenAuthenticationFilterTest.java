@@ -0,0 +1,66 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceTokenAuthenticationFilterTest {
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static MockHttpServletRequest batchRequest(String serviceToken) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users/batch");
+        if (serviceToken != null) {
+            request.addHeader(ServiceTokenAuthenticationFilter.SERVICE_TOKEN_HEADER, serviceToken);
+        }
+        return request;
+    }
+
+    @Test
+    void doFilter_ValidToken_AuthenticatesAsService() throws Exception {
+        // Arrange
+        ServiceTokenAuthenticationFilter filter = new ServiceTokenAuthenticationFilter("secreto-compartido");
+
+        // Act
+        filter.doFilter(batchRequest("secreto-compartido"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertTrue(authentication.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_SERVICE")));
+    }
+
+    @Test
+    void doFilter_WrongToken_DoesNotAuthenticate() throws Exception {
+        // Arrange
+        ServiceTokenAuthenticationFilter filter = new ServiceTokenAuthenticationFilter("secreto-compartido");
+
+        // Act
+        filter.doFilter(batchRequest("otro-token"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilter_TokenNotConfigured_DoesNotAuthenticate() throws Exception {
+        // Arrange
+        ServiceTokenAuthenticationFilter filter = new ServiceTokenAuthenticationFilter("");
+
+        // Act
+        filter.doFilter(batchRequest(""), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
@@ -0,0 +1,77 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserRevocationRegistryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserRevocationRegistry userRevocationRegistry;
+
+    @BeforeEach
+    void setUp() {
+        userRevocationRegistry = new UserRevocationRegistry(userRepository);
+    }
+
+    @Test
+    void loadDeactivatedUsers_RevokesExistingTokens() {
+        // Arrange
+        when(userRepository.findDeactivatedEmails()).thenReturn(List.of("inactivo@example.com"));
+
+        // Act
+        userRevocationRegistry.loadDeactivatedUsers();
+
+        // Assert
+        assertTrue(userRevocationRegistry.isRevoked("inactivo@example.com", Instant.now().minusSeconds(60)));
+        assertFalse(userRevocationRegistry.isRevoked("activo@example.com", Instant.now().minusSeconds(60)));
+    }
+
+    @Test
+    void isRevoked_TokenIssuedAfterRevocation_IsAccepted() {
+        // Arrange
+        userRevocationRegistry.revoke("juan.perez@example.com");
+
+        // Act & Assert
+        assertTrue(userRevocationRegistry.isRevoked("juan.perez@example.com", Instant.now().minusSeconds(60)));
+        assertFalse(userRevocationRegistry.isRevoked("juan.perez@example.com", Instant.now().plusSeconds(60)));
+    }
+
+    @Test
+    void isRevoked_TokenIssuedInSameSecondAsRevocation_IsAccepted() {
+        // Arrange
+        Instant revokedAt = Instant.parse("2026-01-15T10:00:00.750Z");
+        userRevocationRegistry.revoke("juan.perez@example.com", revokedAt);
+        // El claim iat del JWT tiene precisión de segundos
+        Instant issuedAt = revokedAt.truncatedTo(ChronoUnit.SECONDS);
+
+        // Act & Assert
+        assertFalse(userRevocationRegistry.isRevoked("juan.perez@example.com", issuedAt));
+        assertTrue(userRevocationRegistry.isRevoked("juan.perez@example.com", issuedAt.minusSeconds(1)));
+    }
+
+    @Test
+    void pruneExpired_KeepsRecentRevocations() {
+        // Arrange
+        userRevocationRegistry.revoke("juan.perez@example.com");
+
+        // Act
+        userRevocationRegistry.pruneExpired();
+
+        // Assert
+        assertEquals(1, userRevocationRegistry.size());
+    }
+}
@@ -0,0 +1,91 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class VerifiedTokenCacheTest {
+
+    private JwtService jwtService;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = spy(new JwtService(JwtSigningKeys.hmac()));
+        verifiedTokenCache = new VerifiedTokenCache(jwtService, new SimpleMeterRegistry(), 100);
+    }
+
+    @Test
+    void verify_RepeatedToken_VerifiesOnlyOnce() {
+        // Arrange
+        String token = jwtService.generateToken("juan.perez@example.com", "ADMIN");
+
+        // Act
+        TokenVerificationResult first = verifiedTokenCache.verify(token);
+        TokenVerificationResult second = verifiedTokenCache.verify(token);
+
+        // Assert
+        assertTrue(first.isValid());
+        assertEquals("juan.perez@example.com", first.principal().subject());
+        assertEquals("ADMIN", second.principal().role());
+        assertNotNull(second.principal().expiresAt());
+        verify(jwtService, times(1)).verify(token);
+        assertEquals(1, verifiedTokenCache.stats().hitCount());
+        assertEquals(1, verifiedTokenCache.stats().missCount());
+    }
+
+    @Test
+    void verify_TamperedToken_ReturnsInvalidSignatureAndIsNotCached() {
+        // Arrange
+        String token = jwtService.generateToken("juan.perez@example.com") + "tampered";
+
+        // Act
+        TokenVerificationResult first = verifiedTokenCache.verify(token);
+        TokenVerificationResult second = verifiedTokenCache.verify(token);
+
+        // Assert
+        assertFalse(first.isValid());
+        assertEquals(TokenFailureReason.INVALID_SIGNATURE, first.failureReason());
+        assertFalse(second.isValid());
+        verify(jwtService, times(2)).verify(anyString());
+        assertEquals(0, verifiedTokenCache.stats().hitCount());
+    }
+
+    @Test
+    void verify_ExpiredToken_ReturnsExpired() {
+        // Arrange
+        String token = Jwts.builder()
+                .setSubject("juan.perez@example.com")
+                .claim("role", "USER")
+                .setIssuedAt(new Date(System.currentTimeMillis() - 7200000))
+                .setExpiration(new Date(System.currentTimeMillis() - 3600000))
+                .signWith(Keys.hmacShaKeyFor(SecurityConstants.JWT_SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        // Act
+        TokenVerificationResult result = verifiedTokenCache.verify(token);
+
+        // Assert
+        assertFalse(result.isValid());
+        assertEquals(TokenFailureReason.EXPIRED, result.failureReason());
+    }
+
+    @Test
+    void verify_MalformedToken_ReturnsMalformed() {
+        // Act
+        TokenVerificationResult result = verifiedTokenCache.verify("not-a-jwt");
+
+        // Assert
+        assertFalse(result.isValid());
+        assertEquals(TokenFailureReason.MALFORMED, result.failureReason());
+    }
+}
@@ -0,0 +1,86 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FirebaseCircuitBreakerTest {
+
+    private final AtomicLong nanoClock = new AtomicLong();
+
+    private final FirebaseCircuitBreaker circuitBreaker =
+            new FirebaseCircuitBreaker(4, 4, 50, Duration.ofSeconds(30), nanoClock::get);
+
+    private void call(boolean failed) {
+        assertTrue(circuitBreaker.tryAcquire());
+        if (failed) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+    }
+
+    @Test
+    void onFailure_BelowMinimumCalls_StaysClosed() {
+        // Act
+        call(true);
+        call(true);
+        call(true);
+
+        // Assert
+        assertEquals(FirebaseCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void onFailure_ThresholdReached_OpensAndShortCircuits() {
+        // Act
+        call(false);
+        call(false);
+        call(true);
+        call(true);
+
+        // Assert
+        assertEquals(FirebaseCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_AfterOpenDuration_AllowsSingleProbeThatClosesOnSuccess() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            call(true);
+        }
+        nanoClock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        // Act
+        boolean probe = circuitBreaker.tryAcquire();
+        boolean concurrent = circuitBreaker.tryAcquire();
+        circuitBreaker.onSuccess();
+
+        // Assert
+        assertTrue(probe);
+        assertFalse(concurrent);
+        assertEquals(FirebaseCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void onFailure_ProbeFails_ReopensCircuit() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            call(true);
+        }
+        nanoClock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        // Act
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertEquals(FirebaseCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+}
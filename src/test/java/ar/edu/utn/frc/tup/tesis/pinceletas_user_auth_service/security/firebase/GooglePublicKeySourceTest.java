@@ -0,0 +1,27 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GooglePublicKeySourceTest {
+
+    @Test
+    void parseMaxAge_ReadsMaxAgeDirective() {
+        // Act
+        Optional<Duration> maxAge = GooglePublicKeySource.parseMaxAge(
+                Optional.of("public, max-age=19702, must-revalidate, no-transform"));
+
+        // Assert
+        assertEquals(Optional.of(Duration.ofSeconds(19702)), maxAge);
+    }
+
+    @Test
+    void parseMaxAge_WithoutDirective_ReturnsEmpty() {
+        assertTrue(GooglePublicKeySource.parseMaxAge(Optional.of("no-cache")).isEmpty());
+        assertTrue(GooglePublicKeySource.parseMaxAge(Optional.empty()).isEmpty());
+    }
+}
@@ -0,0 +1,148 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalFirebaseTokenVerifierTest {
+
+    private static final String PROJECT_ID = "pinceletas-test";
+
+    private static final KeyPair KEY_1 = Keys.keyPairFor(SignatureAlgorithm.RS256);
+
+    private static final KeyPair KEY_2 = Keys.keyPairFor(SignatureAlgorithm.RS256);
+
+    private LocalFirebaseTokenVerifier verifier;
+
+    private LocalFirebaseTokenVerifier verifier(FirebasePublicKeySource keySource, long initialWaitMs) {
+        verifier = new LocalFirebaseTokenVerifier(keySource, PROJECT_ID, 300, 30, initialWaitMs, 60);
+        verifier.start();
+        return verifier;
+    }
+
+    private static FirebasePublicKeys keys(Instant fetchedAt, String kid, KeyPair keyPair) {
+        return new FirebasePublicKeys(Map.of(kid, keyPair.getPublic()), Duration.ofHours(1), fetchedAt);
+    }
+
+    private static String idToken(String kid, KeyPair keyPair, String audience) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setHeaderParam("kid", kid)
+                .setIssuer("https://securetoken.google.com/" + PROJECT_ID)
+                .setAudience(audience)
+                .setSubject("firebase-uid-123")
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plusSeconds(3600)))
+                .claim("auth_time", now.getEpochSecond())
+                .claim("email", "juan.perez@example.com")
+                .claim("name", "Juan Pérez")
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    @AfterEach
+    void tearDown() {
+        verifier.shutdown();
+    }
+
+    @Test
+    void verify_ValidToken_ReturnsFirebaseIdentity() {
+        // Arrange
+        verifier(() -> keys(Instant.now(), "k1", KEY_1), 2000);
+
+        // Act
+        VerifiedFirebaseToken token = verifier.verify(idToken("k1", KEY_1, PROJECT_ID));
+
+        // Assert
+        assertEquals("firebase-uid-123", token.uid());
+        assertEquals("juan.perez@example.com", token.email());
+        assertEquals("Juan Pérez", token.name());
+        assertTrue(token.expiresAt().isAfter(Instant.now()));
+        assertTrue(verifier.isReady());
+    }
+
+    @Test
+    void verify_WrongAudience_Rejected() {
+        // Arrange
+        verifier(() -> keys(Instant.now(), "k1", KEY_1), 2000);
+
+        // Act & Assert
+        assertThrows(FirebaseTokenVerificationException.class,
+                () -> verifier.verify(idToken("k1", KEY_1, "otro-proyecto")));
+    }
+
+    @Test
+    void verify_NonRs256Token_Rejected() {
+        // Arrange
+        verifier(() -> keys(Instant.now(), "k1", KEY_1), 2000);
+        String hs256Token = Jwts.builder()
+                .setHeaderParam("kid", "k1")
+                .setIssuer("https://securetoken.google.com/" + PROJECT_ID)
+                .setAudience(PROJECT_ID)
+                .setSubject("firebase-uid-123")
+                .signWith(Keys.secretKeyFor(SignatureAlgorithm.HS256))
+                .compact();
+
+        // Act & Assert
+        assertThrows(FirebaseTokenVerificationException.class, () -> verifier.verify(hs256Token));
+    }
+
+    @Test
+    void verify_UnknownKid_TriggersBackgroundRefresh() throws InterruptedException {
+        // Arrange
+        AtomicInteger fetches = new AtomicInteger();
+        AtomicReference<FirebasePublicKeys> published = new AtomicReference<>(
+                keys(Instant.now().minus(Duration.ofMinutes(5)), "k1", KEY_1));
+        verifier(() -> {
+            fetches.incrementAndGet();
+            return published.get();
+        }, 2000);
+        String rotatedToken = idToken("k2", KEY_2, PROJECT_ID);
+        verifier.verify(idToken("k1", KEY_1, PROJECT_ID));
+        published.set(keys(Instant.now(), "k2", KEY_2));
+
+        // Act
+        assertThrows(FirebaseTokenVerificationException.class, () -> verifier.verify(rotatedToken));
+        // El contador sube antes de publicar el parser nuevo: se espera hasta que el token rotado valide
+        VerifiedFirebaseToken verified = null;
+        for (int i = 0; i < 100 && verified == null; i++) {
+            try {
+                verified = verifier.verify(rotatedToken);
+            } catch (FirebaseTokenVerificationException e) {
+                Thread.sleep(20);
+            }
+        }
+
+        // Assert
+        assertNotNull(verified);
+        assertEquals("firebase-uid-123", verified.uid());
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    void verify_KeysUnavailable_FailsAfterInitialWait() {
+        // Arrange
+        verifier(() -> {
+            throw new IOException("Sin conexión");
+        }, 100);
+
+        // Act & Assert
+        FirebaseTokenVerificationException exception = assertThrows(FirebaseTokenVerificationException.class,
+                () -> verifier.verify(idToken("k1", KEY_1, PROJECT_ID)));
+        assertTrue(exception.getMessage().contains("no disponibles"));
+        assertFalse(verifier.isReady());
+    }
+}
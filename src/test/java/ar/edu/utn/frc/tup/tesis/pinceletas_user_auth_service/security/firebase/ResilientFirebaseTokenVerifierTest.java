@@ -0,0 +1,115 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientFirebaseTokenVerifierTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private ResilientFirebaseTokenVerifier verifier;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (verifier != null) {
+            verifier.close();
+        }
+    }
+
+    private ResilientFirebaseTokenVerifier resilient(FirebaseTokenVerifier delegate, long timeoutMs) {
+        return new ResilientFirebaseTokenVerifier(delegate, meterRegistry, 2, 0, timeoutMs, 2, 2, 50, 30);
+    }
+
+    /** Verificador que bloquea cada verificación hasta que el test la libere. */
+    private FirebaseTokenVerifier blockingVerifier() {
+        return idToken -> {
+            calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new VerifiedFirebaseToken("uid-123", "juan.perez@example.com", "Juan Pérez",
+                    Instant.now().plusSeconds(3600), Map.of());
+        };
+    }
+
+    private FirebaseTokenVerifier invalidVerifier() {
+        return idToken -> {
+            calls.incrementAndGet();
+            throw new FirebaseTokenVerificationException("Token de Firebase inválido: firma inválida");
+        };
+    }
+
+    @Test
+    void verify_DelegatesToWrappedVerifier() {
+        // Arrange
+        release.countDown();
+        verifier = resilient(blockingVerifier(), 1000);
+
+        // Act
+        VerifiedFirebaseToken token = verifier.verify("firebase-token-123");
+
+        // Assert
+        assertEquals("uid-123", token.uid());
+        assertEquals(1, meterRegistry.get(ResilientFirebaseTokenVerifier.METRIC_NAME)
+                .tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void verify_SlowerThanTimeout_ThrowsUnavailable() {
+        // Arrange
+        verifier = resilient(blockingVerifier(), 50);
+
+        // Act & Assert
+        assertThrows(FirebaseUnavailableException.class, () -> verifier.verify("firebase-token-123"));
+        assertEquals(1.0, meterRegistry.get(ResilientFirebaseTokenVerifier.METRIC_NAME + ".timeouts").counter().count());
+    }
+
+    @Test
+    void verify_InvalidTokens_PropagateWithoutOpeningCircuit() {
+        // Arrange
+        verifier = resilient(invalidVerifier(), 1000);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            FirebaseTokenVerificationException exception = assertThrows(FirebaseTokenVerificationException.class,
+                    () -> verifier.verify("firebase-token-123"));
+            assertFalse(exception instanceof FirebaseUnavailableException);
+        }
+
+        // Assert
+        assertEquals(FirebaseCircuitBreaker.State.CLOSED, verifier.getCircuitState());
+        assertEquals(5, calls.get());
+    }
+
+    @Test
+    void verify_CircuitOpen_RejectsWithoutCallingDelegate() {
+        // Arrange
+        verifier = resilient(blockingVerifier(), 20);
+        assertThrows(FirebaseUnavailableException.class, () -> verifier.verify("firebase-token-123"));
+        assertThrows(FirebaseUnavailableException.class, () -> verifier.verify("firebase-token-123"));
+        int callsBeforeOpen = calls.get();
+
+        // Act & Assert
+        assertEquals(FirebaseCircuitBreaker.State.OPEN, verifier.getCircuitState());
+        assertThrows(FirebaseUnavailableException.class, () -> verifier.verify("firebase-token-123"));
+        assertEquals(callsBeforeOpen, calls.get());
+        assertEquals(1.0, meterRegistry.get(ResilientFirebaseTokenVerifier.METRIC_NAME + ".short-circuited")
+                .counter().count());
+    }
+}
@@ -0,0 +1,63 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.config.FirebaseConfig;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseToken;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SdkFirebaseTokenVerifierTest {
+
+    private final FirebaseConfig firebaseConfig = mock(FirebaseConfig.class);
+
+    private final SdkFirebaseTokenVerifier verifier = new SdkFirebaseTokenVerifier(firebaseConfig);
+
+    @Test
+    void verify_DelegatesToFirebaseAuth() throws Exception {
+        // Arrange
+        FirebaseApp firebaseApp = mock(FirebaseApp.class);
+        FirebaseAuth mockFirebaseAuth = mock(FirebaseAuth.class);
+        when(firebaseConfig.awaitApp()).thenReturn(firebaseApp);
+        FirebaseToken mockFirebaseToken = mock(FirebaseToken.class);
+        long exp = Instant.now().plusSeconds(3600).getEpochSecond();
+
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("exp", exp);
+
+        try (MockedStatic<FirebaseAuth> mockedStatic = mockStatic(FirebaseAuth.class)) {
+            mockedStatic.when(() -> FirebaseAuth.getInstance(firebaseApp)).thenReturn(mockFirebaseAuth);
+            when(mockFirebaseAuth.verifyIdToken("firebase-token-123")).thenReturn(mockFirebaseToken);
+            when(mockFirebaseToken.getUid()).thenReturn("firebase-uid-123");
+            when(mockFirebaseToken.getEmail()).thenReturn("juan.perez@example.com");
+            when(mockFirebaseToken.getClaims()).thenReturn(claims);
+
+            // Act
+            VerifiedFirebaseToken token = verifier.verify("firebase-token-123");
+
+            // Assert
+            assertEquals("firebase-uid-123", token.uid());
+            assertEquals("juan.perez@example.com", token.email());
+            assertEquals("juan.perez@example.com", token.name());
+            assertEquals(Instant.ofEpochSecond(exp), token.expiresAt());
+        }
+    }
+
+    @Test
+    void verify_FirebaseNotInitialized_RejectsToken() {
+        // Arrange
+        when(firebaseConfig.awaitApp()).thenThrow(new IllegalStateException("Firebase todavía se está inicializando"));
+
+        // Act & Assert
+        FirebaseTokenVerificationException exception = assertThrows(FirebaseTokenVerificationException.class,
+                () -> verifier.verify("firebase-token-123"));
+        assertTrue(exception.getMessage().contains("Firebase no disponible"));
+    }
+}
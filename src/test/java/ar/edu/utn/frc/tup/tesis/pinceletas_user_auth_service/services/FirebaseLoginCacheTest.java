@@ -0,0 +1,73 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.enums.RoleEnum;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.UserRevocationRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FirebaseLoginCacheTest {
+
+    @Mock
+    private UserRevocationRegistry userRevocationRegistry;
+
+    private FirebaseLoginCache firebaseLoginCache;
+
+    private final FirebaseLoginCache.FirebaseLogin login =
+            new FirebaseLoginCache.FirebaseLogin(1L, "juan.perez@example.com", RoleEnum.USER);
+
+    @BeforeEach
+    void setUp() {
+        firebaseLoginCache = new FirebaseLoginCache(userRevocationRegistry, new SimpleMeterRegistry(), 100, 120);
+    }
+
+    @Test
+    void get_SameToken_ReturnsVerifiedLogin() {
+        // Arrange
+        firebaseLoginCache.put("firebase-token-123", Instant.now().plusSeconds(3600), login);
+
+        // Act
+        Optional<FirebaseLoginCache.FirebaseLogin> cached = firebaseLoginCache.get("firebase-token-123");
+
+        // Assert
+        assertEquals(Optional.of(login), cached);
+        assertTrue(firebaseLoginCache.get("otro-token").isEmpty());
+    }
+
+    @Test
+    void get_UserRevokedAfterLogin_ReturnsEmpty() {
+        // Arrange
+        firebaseLoginCache.put("firebase-token-123", Instant.now().plusSeconds(3600), login);
+        when(userRevocationRegistry.isRevoked(eq("juan.perez@example.com"), any(Instant.class))).thenReturn(true);
+
+        // Act
+        Optional<FirebaseLoginCache.FirebaseLogin> cached = firebaseLoginCache.get("firebase-token-123");
+
+        // Assert
+        assertTrue(cached.isEmpty());
+    }
+
+    @Test
+    void put_ExpiredFirebaseToken_IsNotCached() {
+        // Arrange
+        firebaseLoginCache.put("firebase-token-123", Instant.now().minusSeconds(1), login);
+
+        // Act
+        Optional<FirebaseLoginCache.FirebaseLogin> cached = firebaseLoginCache.get("firebase-token-123");
+
+        // Assert
+        assertTrue(cached.isEmpty());
+        verifyNoInteractions(userRevocationRegistry);
+    }
+}
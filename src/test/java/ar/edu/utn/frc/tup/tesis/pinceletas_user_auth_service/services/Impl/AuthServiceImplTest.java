@@ -1,24 +1,31 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.Impl;
 
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit.NotificacionEventService;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.auth.*;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.enums.RoleEnum;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.model.UserEntity;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.JwtService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.FirebaseLoginCache;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.PasswordRehashService;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.PasswordResetService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.RefreshTokenService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.UserActivityTracker;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.UserService;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseToken;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase.FirebaseTokenVerificationException;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase.FirebaseTokenVerifier;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase.FirebaseUnavailableException;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.firebase.VerifiedFirebaseToken;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.util.HashMap;
+import java.time.Instant;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -38,6 +45,24 @@ class AuthServiceImplTest {
     @Mock
     private PasswordResetService passwordResetService;
 
+    @Mock
+    private UserActivityTracker userActivityTracker;
+
+    @Mock
+    private NotificacionEventService notificacionEventService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private PasswordRehashService passwordRehashService;
+
+    @Mock
+    private FirebaseTokenVerifier firebaseTokenVerifier;
+
+    @Mock
+    private FirebaseLoginCache firebaseLoginCache;
+
     @InjectMocks
     private AuthServiceImpl authService;
 
@@ -99,6 +124,11 @@ class AuthServiceImplTest {
                 .build();
     }
 
+    private static VerifiedFirebaseToken verifiedFirebaseToken() {
+        return new VerifiedFirebaseToken("firebase-uid-123", "juan.perez@example.com", "Juan Pérez",
+                Instant.now().plusSeconds(3600), Map.of("name", "Juan Pérez"));
+    }
+
     @Test
     void register_Success() {
         // Arrange
@@ -133,6 +163,7 @@ class AuthServiceImplTest {
         when(userService.findByEmail(loginRequest.getEmail())).thenReturn(userEntity);
         when(passwordEncoder.matches(loginRequest.getPassword(), userEntity.getPassword())).thenReturn(true);
         when(jwtService.generateToken(anyString(), anyString())).thenReturn("jwt-token-123");
+        when(refreshTokenService.issue(userEntity.getId())).thenReturn("refresh-token-123");
 
         // Act
         AuthResponse response = authService.login(loginRequest);
@@ -140,9 +171,14 @@ class AuthServiceImplTest {
         // Assert
         assertNotNull(response);
         assertEquals("jwt-token-123", response.getToken());
+        assertEquals("refresh-token-123", response.getRefreshToken());
         verify(userService, times(1)).findByEmail(loginRequest.getEmail());
         verify(passwordEncoder, times(1)).matches(loginRequest.getPassword(), userEntity.getPassword());
         verify(jwtService, times(1)).generateToken(userEntity.getEmail(), userEntity.getRole().name());
+        verify(userActivityTracker, times(1)).recordActivity(userEntity.getEmail());
+        verify(userService, never()).saveUser(any(UserEntity.class));
+        verify(passwordRehashService, times(1))
+                .rehashIfNeeded(userEntity.getEmail(), userEntity.getPassword(), loginRequest.getPassword());
     }
 
     @Test
@@ -158,6 +194,7 @@ class AuthServiceImplTest {
         verify(userService, times(1)).findByEmail(loginRequest.getEmail());
         verify(passwordEncoder, never()).matches(anyString(), anyString());
         verify(jwtService, never()).generateToken(anyString(), anyString());
+        verify(userActivityTracker, never()).recordActivity(anyString());
     }
 
     @Test
@@ -173,6 +210,7 @@ class AuthServiceImplTest {
         verify(userService, times(1)).findByEmail(loginRequest.getEmail());
         verify(passwordEncoder, times(1)).matches(loginRequest.getPassword(), userEntity.getPassword());
         verify(jwtService, never()).generateToken(anyString(), anyString());
+        verify(passwordRehashService, never()).rehashIfNeeded(anyString(), anyString(), anyString());
     }
 
     @Test
@@ -230,117 +268,151 @@ class AuthServiceImplTest {
     }
 
     @Test
-    void registerWithFirebase_Success() throws Exception {
+    void registerWithFirebase_Success() {
         // Arrange
-        FirebaseAuth mockFirebaseAuth = mock(FirebaseAuth.class);
-        FirebaseToken mockFirebaseToken = mock(FirebaseToken.class);
-
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("name", "Juan Pérez");
-
-        try (MockedStatic<FirebaseAuth> mockedStatic = mockStatic(FirebaseAuth.class)) {
-            mockedStatic.when(FirebaseAuth::getInstance).thenReturn(mockFirebaseAuth);
-
-            when(mockFirebaseAuth.verifyIdToken(anyString())).thenReturn(mockFirebaseToken);
-            when(mockFirebaseToken.getUid()).thenReturn("firebase-uid-123");
-            when(mockFirebaseToken.getEmail()).thenReturn("juan.perez@example.com");
-            when(mockFirebaseToken.getClaims()).thenReturn(claims);
-            when(userService.existsByEmail(anyString())).thenReturn(false);
-            when(userService.registerWithFirebase(anyString(), anyString(), anyString(), anyString(),
-                    anyString(), anyString(), anyString())).thenReturn(userEntity);
-            when(jwtService.generateToken(anyString(), anyString())).thenReturn("jwt-token-123");
-
-            // Act
-            AuthResponse response = authService.registerWithFirebase(firebaseRegisterRequest);
-
-            // Assert
-            assertNotNull(response);
-            assertEquals("jwt-token-123", response.getToken());
-            verify(userService, times(1)).existsByEmail(anyString());
-            verify(userService, times(1)).registerWithFirebase(anyString(), anyString(), anyString(),
-                    anyString(), anyString(), anyString(), anyString());
-        }
+        when(firebaseTokenVerifier.verify("firebase-token-123")).thenReturn(verifiedFirebaseToken());
+        when(userService.existsByEmail(anyString())).thenReturn(false);
+        when(userService.registerWithFirebase(anyString(), anyString(), anyString(), anyString(),
+                anyString(), anyString(), anyString())).thenReturn(userEntity);
+        when(jwtService.generateToken(anyString(), anyString())).thenReturn("jwt-token-123");
+
+        // Act
+        AuthResponse response = authService.registerWithFirebase(firebaseRegisterRequest);
+
+        // Assert
+        assertNotNull(response);
+        assertEquals("jwt-token-123", response.getToken());
+        verify(userService, times(1)).existsByEmail(anyString());
+        verify(userService, times(1)).registerWithFirebase(anyString(), anyString(), anyString(),
+                anyString(), anyString(), anyString(), anyString());
     }
 
     @Test
-    void registerWithFirebase_EmailAlreadyExists() throws Exception {
+    void registerWithFirebase_EmailAlreadyExists() {
         // Arrange
-        FirebaseAuth mockFirebaseAuth = mock(FirebaseAuth.class);
-        FirebaseToken mockFirebaseToken = mock(FirebaseToken.class);
-
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("name", "Juan Pérez");
-
-        try (MockedStatic<FirebaseAuth> mockedStatic = mockStatic(FirebaseAuth.class)) {
-            mockedStatic.when(FirebaseAuth::getInstance).thenReturn(mockFirebaseAuth);
-
-            when(mockFirebaseAuth.verifyIdToken(anyString())).thenReturn(mockFirebaseToken);
-            when(mockFirebaseToken.getUid()).thenReturn("firebase-uid-123");
-            when(mockFirebaseToken.getEmail()).thenReturn("juan.perez@example.com");
-            when(mockFirebaseToken.getClaims()).thenReturn(claims);
-            when(userService.existsByEmail(anyString())).thenReturn(true);
-
-            // Act & Assert
-            RuntimeException exception = assertThrows(RuntimeException.class,
-                    () -> authService.registerWithFirebase(firebaseRegisterRequest));
-            assertTrue(exception.getMessage().contains("ya está registrado"));
-        }
+        when(firebaseTokenVerifier.verify("firebase-token-123")).thenReturn(verifiedFirebaseToken());
+        when(userService.existsByEmail(anyString())).thenReturn(true);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> authService.registerWithFirebase(firebaseRegisterRequest));
+        assertTrue(exception.getMessage().contains("ya está registrado"));
     }
 
 
     @Test
-    void loginWithFirebase_Success() throws Exception {
+    void loginWithFirebase_Success() {
         // Arrange
-        FirebaseAuth mockFirebaseAuth = mock(FirebaseAuth.class);
-        FirebaseToken mockFirebaseToken = mock(FirebaseToken.class);
-
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("name", "Juan Pérez");
-
-        try (MockedStatic<FirebaseAuth> mockedStatic = mockStatic(FirebaseAuth.class)) {
-            mockedStatic.when(FirebaseAuth::getInstance).thenReturn(mockFirebaseAuth);
-
-            when(mockFirebaseAuth.verifyIdToken(anyString())).thenReturn(mockFirebaseToken);
-            when(mockFirebaseToken.getUid()).thenReturn("firebase-uid-123");
-            when(mockFirebaseToken.getEmail()).thenReturn("juan.perez@example.com");
-            when(mockFirebaseToken.getClaims()).thenReturn(claims);
-            when(userService.upsertFirebaseUser(anyString(), anyString(), anyString(), anyString()))
-                    .thenReturn(userEntity);
-            when(jwtService.generateToken(anyString(), anyString())).thenReturn("jwt-token-123");
-
-            // Act
-            AuthResponse response = authService.loginWithFirebase(firebaseLoginRequest);
-
-            // Assert
-            assertNotNull(response);
-            assertEquals("jwt-token-123", response.getToken());
-            verify(userService, times(1)).upsertFirebaseUser(anyString(), anyString(), anyString(), anyString());
-        }
+        when(firebaseTokenVerifier.verify("firebase-token-123")).thenReturn(verifiedFirebaseToken());
+        when(userService.upsertFirebaseUser("firebase-uid-123", "juan.perez@example.com", "Juan Pérez", "firebase"))
+                .thenReturn(userEntity);
+        when(jwtService.generateToken(anyString(), anyString())).thenReturn("jwt-token-123");
+
+        // Act
+        AuthResponse response = authService.loginWithFirebase(firebaseLoginRequest);
+
+        // Assert
+        assertNotNull(response);
+        assertEquals("jwt-token-123", response.getToken());
+        verify(userService, times(1)).upsertFirebaseUser(anyString(), anyString(), anyString(), anyString());
+        verify(userActivityTracker, never()).recordActivity(anyString());
+        verify(userService, never()).saveUser(any(UserEntity.class));
+        verify(firebaseLoginCache, times(1)).put(eq("firebase-token-123"), any(Instant.class),
+                eq(new FirebaseLoginCache.FirebaseLogin(userEntity.getId(), "juan.perez@example.com", userEntity.getRole())));
     }
+
     @Test
-    void loginWithFirebase_AccountDeactivated() throws Exception {
+    void loginWithFirebase_RetryWithSameToken_IssuesFreshTokensForCachedUser() {
+        // Arrange
+        when(firebaseLoginCache.get("firebase-token-123")).thenReturn(Optional.of(
+                new FirebaseLoginCache.FirebaseLogin(1L, "juan.perez@example.com", RoleEnum.USER)));
+        when(jwtService.generateToken("juan.perez@example.com", "USER")).thenReturn("jwt-token-456");
+        when(refreshTokenService.issue(1L)).thenReturn("refresh-token-456");
+
+        // Act
+        AuthResponse response = authService.loginWithFirebase(firebaseLoginRequest);
+
+        // Assert
+        assertEquals("jwt-token-456", response.getToken());
+        assertEquals("refresh-token-456", response.getRefreshToken());
+        verifyNoInteractions(firebaseTokenVerifier, userService, userActivityTracker);
+    }
+    @Test
+    void loginWithFirebase_AccountDeactivated() {
+        // Arrange
+        userEntity.setActivo(false);
+        when(firebaseTokenVerifier.verify("firebase-token-123")).thenReturn(verifiedFirebaseToken());
+        when(userService.upsertFirebaseUser(anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(userEntity);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> authService.loginWithFirebase(firebaseLoginRequest));
+        assertTrue(exception.getMessage().contains("desactivada"));
+    }
+
+    @Test
+    void loginWithFirebase_InvalidToken() {
+        // Arrange
+        when(firebaseTokenVerifier.verify("firebase-token-123"))
+                .thenThrow(new FirebaseTokenVerificationException("Token de Firebase inválido: firma inválida"));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> authService.loginWithFirebase(firebaseLoginRequest));
+        assertTrue(exception.getMessage().contains("Token de Firebase inválido"));
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void loginWithFirebase_FirebaseUnavailable_PropagatesUnwrapped() {
+        // Arrange
+        FirebaseUnavailableException unavailable =
+                new FirebaseUnavailableException("La verificación con Firebase no está disponible temporalmente");
+        when(firebaseTokenVerifier.verify("firebase-token-123")).thenThrow(unavailable);
+
+        // Act & Assert
+        FirebaseUnavailableException exception = assertThrows(FirebaseUnavailableException.class,
+                () -> authService.loginWithFirebase(firebaseLoginRequest));
+        assertSame(unavailable, exception);
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void refresh_Success_RotatesWithoutPasswordVerification() {
+        // Arrange
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken("refresh-token-123");
+        when(refreshTokenService.rotate("refresh-token-123"))
+                .thenReturn(new RefreshTokenService.Rotation(1L, "family-1", "refresh-token-456"));
+        when(userService.findById(1L)).thenReturn(userEntity);
+        when(jwtService.generateToken(anyString(), anyString())).thenReturn("jwt-token-456");
+
+        // Act
+        AuthResponse response = authService.refresh(request);
+
+        // Assert
+        assertEquals("jwt-token-456", response.getToken());
+        assertEquals("refresh-token-456", response.getRefreshToken());
+        verify(jwtService, times(1)).generateToken(userEntity.getEmail(), userEntity.getRole().name());
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(refreshTokenService, never()).revokeFamily(anyString());
+    }
+
+    @Test
+    void refresh_AccountDeactivated_RevokesFamily() {
         // Arrange
         userEntity.setActivo(false);
-        FirebaseAuth mockFirebaseAuth = mock(FirebaseAuth.class);
-        FirebaseToken mockFirebaseToken = mock(FirebaseToken.class);
-
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("name", "Juan Pérez");
-
-        try (MockedStatic<FirebaseAuth> mockedStatic = mockStatic(FirebaseAuth.class)) {
-            mockedStatic.when(FirebaseAuth::getInstance).thenReturn(mockFirebaseAuth);
-
-            when(mockFirebaseAuth.verifyIdToken(anyString())).thenReturn(mockFirebaseToken);
-            when(mockFirebaseToken.getUid()).thenReturn("firebase-uid-123");
-            when(mockFirebaseToken.getEmail()).thenReturn("juan.perez@example.com");
-            when(mockFirebaseToken.getClaims()).thenReturn(claims);
-            when(userService.upsertFirebaseUser(anyString(), anyString(), anyString(), anyString()))
-                    .thenReturn(userEntity);
-
-            // Act & Assert
-            RuntimeException exception = assertThrows(RuntimeException.class,
-                    () -> authService.loginWithFirebase(firebaseLoginRequest));
-            assertTrue(exception.getMessage().contains("desactivada"));
-        }
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken("refresh-token-123");
+        when(refreshTokenService.rotate("refresh-token-123"))
+                .thenReturn(new RefreshTokenService.Rotation(1L, "family-1", "refresh-token-456"));
+        when(userService.findById(1L)).thenReturn(userEntity);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> authService.refresh(request));
+        assertTrue(exception.getMessage().contains("desactivada"));
+        verify(refreshTokenService, times(1)).revokeFamily("family-1");
+        verify(jwtService, never()).generateToken(anyString(), anyString());
     }
-}
\ No newline at end of file
+}
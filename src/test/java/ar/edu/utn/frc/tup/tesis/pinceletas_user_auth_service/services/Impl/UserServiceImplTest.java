@@ -1,24 +1,36 @@
 package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.Impl;
 
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit.NotificacionEventService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.Rabbit.UserCacheInvalidationService;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.auth.RegisterUserRequest;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.ChangePasswordRequest;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UpdateAddressRequest;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UpdateUserRequest;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserBatchRequest;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserBatchResponse;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserResponse;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserSummary;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.enums.RoleEnum;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.model.UserEntity;
 import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.repository.UserRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.RefreshTokenService;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services.UserSummaryCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -32,6 +44,18 @@ class UserServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserSummaryCache userSummaryCache;
+
+    @Mock
+    private UserCacheInvalidationService userCacheInvalidationService;
+
+    @Mock
+    private NotificacionEventService notificacionEventService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -110,6 +134,8 @@ class UserServiceImplTest {
         verify(userRepository, times(1)).existsByEmail(testEmail);
         verify(passwordEncoder, times(1)).encode(registerRequest.getPassword());
         verify(userRepository, times(1)).save(any(UserEntity.class));
+        verify(notificacionEventService, times(1)).enviarNotificacionNuevoRegistro(testEmail, 1L, "Juan Pérez");
+        verify(notificacionEventService, times(1)).enviarNotificacionBienvenidaRegistro(testEmail, 1L, "Juan Pérez");
     }
 
     @Test
@@ -189,42 +215,100 @@ class UserServiceImplTest {
         String newEmail = "newemail@example.com";
         updateUserRequest.setEmail(newEmail);
 
-        when(userRepository.findByEmail(testEmail)).thenReturn(Optional.of(userEntity));
-        when(userRepository.existsByEmail(newEmail)).thenReturn(true);
+        when(userRepository.updateProfile(testEmail, "Juan Carlos", "Pérez García", newEmail, "0987654321"))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> userService.updateUser(testEmail, updateUserRequest));
         assertEquals("El nuevo email ya está registrado", exception.getMessage());
-        verify(userRepository, times(1)).findByEmail(testEmail);
-        verify(userRepository, times(1)).existsByEmail(newEmail);
+        verify(userRepository, never()).existsByEmail(anyString());
         verify(userRepository, never()).save(any(UserEntity.class));
+        verifyNoInteractions(userCacheInvalidationService);
     }
 
     @Test
-    void updateUserAddress_Success() {
+    void updateUser_Success_SingleRoundTrip() {
         // Arrange
-        when(userRepository.findByEmail(testEmail)).thenReturn(Optional.of(userEntity));
+        when(userRepository.updateProfile(testEmail, "Juan Carlos", "Pérez García", testEmail, "0987654321"))
+                .thenReturn(Optional.of(userEntity));
+
+        // Act
+        UserResponse result = userService.updateUser(testEmail, updateUserRequest);
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(testEmail, result.getEmail());
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(userRepository, never()).save(any(UserEntity.class));
+    }
 
-        ArgumentCaptor<UserEntity> userCaptor = ArgumentCaptor.forClass(UserEntity.class);
-        when(userRepository.save(userCaptor.capture())).thenReturn(userEntity);
+    @Test
+    void updateUser_UserNotFound() {
+        // Arrange
+        when(userRepository.updateProfile(testEmail, "Juan Carlos", "Pérez García", testEmail, "0987654321"))
+                .thenReturn(Optional.empty());
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> userService.updateUser(testEmail, updateUserRequest));
+        assertEquals("Usuario no encontrado", exception.getMessage());
+    }
+
+    @Test
+    void updateUser_EmailRenamed_EvictsOldAndNewEmail() {
+        // Arrange
+        String newEmail = "newemail@example.com";
+        updateUserRequest.setEmail(newEmail);
+        userEntity.setEmail(newEmail);
+        when(userRepository.updateProfile(testEmail, "Juan Carlos", "Pérez García", newEmail, "0987654321"))
+                .thenReturn(Optional.of(userEntity));
+
+        // Act
+        userService.updateUser(testEmail, updateUserRequest);
+
+        // Assert
+        verify(userCacheInvalidationService, times(1)).invalidate(1L, testEmail);
+        verify(userCacheInvalidationService, times(1)).invalidateEmail(newEmail);
+    }
+
+    @Test
+    void updateUserAddress_Success() {
+        // Arrange
+        when(userRepository.updateAddress(eq(testEmail), anyString(), anyString(), anyString(), any(), any(),
+                anyString(), anyString(), anyString(), any(), any())).thenReturn(Optional.of(userEntity));
 
         // Act
         UserResponse result = userService.updateUserAddress(testEmail, updateAddressRequest);
 
         // Assert
         assertNotNull(result);
-        UserEntity capturedUser = userCaptor.getValue();
-        assertEquals("Av. Secundaria", capturedUser.getCalle());
-        assertEquals("Buenos Aires", capturedUser.getCiudad());
-        verify(userRepository, times(1)).findByEmail(testEmail);
-        verify(userRepository, times(1)).save(any(UserEntity.class));
+        verify(userRepository, times(1)).updateAddress(testEmail, "Av. Secundaria", "456", "Buenos Aires",
+                null, null, "Argentina", "Buenos Aires", "1000", null, null);
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(userRepository, never()).save(any(UserEntity.class));
+        // La dirección no forma parte de UserSummary: no hay nada que invalidar
+        verifyNoInteractions(userCacheInvalidationService);
+    }
+
+    @Test
+    void updateUserAddress_UserNotFound() {
+        // Arrange
+        when(userRepository.updateAddress(eq(testEmail), anyString(), anyString(), anyString(), any(), any(),
+                anyString(), anyString(), anyString(), any(), any())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> userService.updateUserAddress(testEmail, updateAddressRequest));
+        assertEquals("Usuario no encontrado", exception.getMessage());
+        verify(userRepository, never()).findByEmail(anyString());
     }
 
     @Test
     void changePassword_IncorrectCurrentPassword() {
         // Arrange
-        when(userRepository.findByEmail(testEmail)).thenReturn(Optional.of(userEntity));
+        when(userRepository.findPasswordByEmail(testEmail)).thenReturn(Optional.of(userEntity.getPassword()));
         when(passwordEncoder.matches(changePasswordRequest.getCurrentPassword(), userEntity.getPassword()))
                 .thenReturn(false);
 
@@ -232,7 +316,7 @@ class UserServiceImplTest {
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> userService.changePassword(testEmail, changePasswordRequest));
         assertEquals("La contraseña actual es incorrecta", exception.getMessage());
-        verify(userRepository, times(1)).findByEmail(testEmail);
+        verify(userRepository, times(1)).findPasswordByEmail(testEmail);
         verify(passwordEncoder, never()).encode(anyString());
         verify(userRepository, never()).save(any(UserEntity.class));
     }
@@ -241,7 +325,7 @@ class UserServiceImplTest {
     void changePassword_NewPasswordsMismatch() {
         // Arrange
         changePasswordRequest.setConfirmNewPassword("differentPassword");
-        when(userRepository.findByEmail(testEmail)).thenReturn(Optional.of(userEntity));
+        when(userRepository.findPasswordByEmail(testEmail)).thenReturn(Optional.of(userEntity.getPassword()));
         when(passwordEncoder.matches(changePasswordRequest.getCurrentPassword(), userEntity.getPassword()))
                 .thenReturn(true);
 
@@ -249,7 +333,7 @@ class UserServiceImplTest {
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> userService.changePassword(testEmail, changePasswordRequest));
         assertEquals("Las nuevas contraseñas no coinciden", exception.getMessage());
-        verify(userRepository, times(1)).findByEmail(testEmail);
+        verify(userRepository, times(1)).findPasswordByEmail(testEmail);
         verify(passwordEncoder, never()).encode(anyString());
         verify(userRepository, never()).save(any(UserEntity.class));
     }
@@ -257,7 +341,7 @@ class UserServiceImplTest {
     @Test
     void changePassword_SameAsCurrentPassword() {
         // Arrange
-        when(userRepository.findByEmail(testEmail)).thenReturn(Optional.of(userEntity));
+        when(userRepository.findPasswordByEmail(testEmail)).thenReturn(Optional.of(userEntity.getPassword()));
         when(passwordEncoder.matches(changePasswordRequest.getCurrentPassword(), userEntity.getPassword()))
                 .thenReturn(true);
         when(passwordEncoder.matches(changePasswordRequest.getNewPassword(), userEntity.getPassword()))
@@ -267,8 +351,30 @@ class UserServiceImplTest {
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> userService.changePassword(testEmail, changePasswordRequest));
         assertEquals("La nueva contraseña debe ser diferente a la actual", exception.getMessage());
-        verify(userRepository, times(1)).findByEmail(testEmail);
+        verify(userRepository, times(1)).findPasswordByEmail(testEmail);
         verify(passwordEncoder, never()).encode(anyString());
+        verify(userRepository, never()).updatePassword(anyString(), anyString());
+    }
+
+    @Test
+    void changePassword_Success_UpdatesOnlyPassword() {
+        // Arrange
+        when(userRepository.findPasswordByEmail(testEmail)).thenReturn(Optional.of(userEntity.getPassword()));
+        when(passwordEncoder.matches(changePasswordRequest.getCurrentPassword(), userEntity.getPassword()))
+                .thenReturn(true);
+        when(passwordEncoder.matches(changePasswordRequest.getNewPassword(), userEntity.getPassword()))
+                .thenReturn(false);
+        when(passwordEncoder.encode(changePasswordRequest.getNewPassword())).thenReturn("newEncodedPassword");
+        when(userSummaryCache.getByEmail(testEmail))
+                .thenReturn(Optional.of(new UserSummary(1L, testEmail, "Juan", "Pérez", RoleEnum.USER)));
+
+        // Act
+        userService.changePassword(testEmail, changePasswordRequest);
+
+        // Assert
+        verify(userRepository, times(1)).updatePassword(testEmail, "newEncodedPassword");
+        verify(refreshTokenService, times(1)).revokeAllForUser(1L);
+        verify(userRepository, never()).findByEmail(anyString());
         verify(userRepository, never()).save(any(UserEntity.class));
     }
 
@@ -283,24 +389,38 @@ class UserServiceImplTest {
         // Assert
         verify(userRepository, times(1)).findByEmail(testEmail);
         verify(userRepository, times(1)).delete(userEntity);
+        verify(refreshTokenService, times(1)).revokeAllForUser(1L);
+        verify(userCacheInvalidationService, times(1)).revoke(1L, testEmail);
     }
 
     @Test
     void deactivateUser_Success() {
         // Arrange
-        when(userRepository.findByEmail(testEmail)).thenReturn(Optional.of(userEntity));
+        when(userRepository.deactivateByEmail(testEmail)).thenReturn(1);
 
         // Act
         userService.deactivateUser(testEmail);
 
         // Assert
-        verify(userRepository, times(1)).findByEmail(testEmail);
-        verify(userRepository, times(1)).save(userEntity);
-        assertFalse(userEntity.isActivo());
+        verify(userRepository, times(1)).deactivateByEmail(testEmail);
+        verify(userCacheInvalidationService, times(1)).revoke(null, testEmail);
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(userRepository, never()).save(any(UserEntity.class));
+    }
+
+    @Test
+    void deactivateUser_UserNotFound() {
+        // Arrange
+        when(userRepository.deactivateByEmail(testEmail)).thenReturn(0);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> userService.deactivateUser(testEmail));
+        assertEquals("Usuario no encontrado", exception.getMessage());
     }
 
     @Test
-    void upsertFirebaseUser_ExistingByUid() {
+    void upsertFirebaseUser_ExistingUser_SingleStatementWithoutCacheInvalidation() {
         // Arrange
         String uid = "firebase-uid-123";
         String email = "firebase@example.com";
@@ -310,40 +430,45 @@ class UserServiceImplTest {
                 .id(2L)
                 .firebaseUid(uid)
                 .email(email)
-                .displayName("Old Display Name")
-                .provider("google")
+                .displayName(displayName)
+                .provider("firebase")
+                .activo(true)
+                .createdAt(Instant.parse("2024-01-01T00:00:00Z"))
                 .build();
 
-        when(userRepository.findByFirebaseUid(uid)).thenReturn(Optional.of(firebaseUser));
-        when(userRepository.save(any(UserEntity.class))).thenReturn(firebaseUser);
+        when(userRepository.upsertFirebaseUser(eq(uid), eq(email), eq(displayName), anyString(), anyString(),
+                eq("firebase"), any(Instant.class), any(LocalDateTime.class))).thenReturn(firebaseUser);
 
         // Act
         UserEntity result = userService.upsertFirebaseUser(uid, email, displayName, "firebase");
 
         // Assert
-        assertNotNull(result);
-        assertEquals(displayName, result.getDisplayName());
-        verify(userRepository, times(1)).findByFirebaseUid(uid);
-        verify(userRepository, times(1)).save(any(UserEntity.class));
+        assertSame(firebaseUser, result);
+        verify(userRepository, never()).findByFirebaseUid(anyString());
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(userRepository, never()).save(any(UserEntity.class));
+        verifyNoInteractions(userCacheInvalidationService);
+        verify(notificacionEventService, times(1)).enviarNotificacionInicioSesionFirebase(email, 2L, displayName);
     }
 
     @Test
-    void upsertFirebaseUser_ExistingByEmail() {
+    void upsertFirebaseUser_NewUser() {
         // Arrange
         String uid = "firebase-uid-123";
-        String email = "existing@example.com";
-        String displayName = "Firebase User";
-
-        UserEntity existingUser = UserEntity.builder()
-                .id(1L)
-                .email(email)
-                .nombre("Juan")
-                .apellido("Pérez")
-                .build();
+        String email = "newuser@example.com";
+        String displayName = "New Firebase User";
 
-        when(userRepository.findByFirebaseUid(uid)).thenReturn(Optional.empty());
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(existingUser));
-        when(userRepository.save(any(UserEntity.class))).thenReturn(existingUser);
+        when(userRepository.upsertFirebaseUser(eq(uid), eq(email), eq(displayName), eq("New"), eq("Firebase User"),
+                eq("firebase"), any(Instant.class), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> UserEntity.builder()
+                        .firebaseUid(uid)
+                        .email(email)
+                        .displayName(displayName)
+                        .nombre(invocation.getArgument(3))
+                        .apellido(invocation.getArgument(4))
+                        .activo(true)
+                        .createdAt(invocation.getArgument(6))
+                        .build());
 
         // Act
         UserEntity result = userService.upsertFirebaseUser(uid, email, displayName, "firebase");
@@ -351,35 +476,31 @@ class UserServiceImplTest {
         // Assert
         assertNotNull(result);
         assertEquals(uid, result.getFirebaseUid());
-        assertEquals(displayName, result.getDisplayName());
-        verify(userRepository, times(1)).findByFirebaseUid(uid);
-        verify(userRepository, times(1)).findByEmail(email);
-        verify(userRepository, times(1)).save(any(UserEntity.class));
+        assertEquals(email, result.getEmail());
+        assertEquals("New", result.getNombre());
+        assertEquals("Firebase User", result.getApellido());
+        verify(userRepository, never()).save(any(UserEntity.class));
+        verifyNoInteractions(userCacheInvalidationService);
+        verify(notificacionEventService, times(1)).enviarNotificacionInicioSesionFirebase(email, null, displayName);
+        verify(notificacionEventService, times(1)).enviarNotificacionAdminInicioSesionFirebase(email, null, displayName);
     }
 
     @Test
-    void upsertFirebaseUser_NewUser() {
+    void upsertFirebaseUser_InactiveUser_SkipsLoginNotifications() {
         // Arrange
-        String uid = "firebase-uid-123";
-        String email = "newuser@example.com";
-        String displayName = "New Firebase User";
-
-        when(userRepository.findByFirebaseUid(uid)).thenReturn(Optional.empty());
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
-        when(userRepository.save(any(UserEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        UserEntity inactiveUser = UserEntity.builder()
+                .id(3L)
+                .email("inactive@example.com")
+                .activo(false)
+                .build();
+        when(userRepository.upsertFirebaseUser(anyString(), anyString(), anyString(), anyString(), anyString(),
+                anyString(), any(Instant.class), any(LocalDateTime.class))).thenReturn(inactiveUser);
 
         // Act
-        UserEntity result = userService.upsertFirebaseUser(uid, email, displayName, "firebase");
+        userService.upsertFirebaseUser("firebase-uid-456", "inactive@example.com", "Inactive User", "firebase");
 
         // Assert
-        assertNotNull(result);
-        assertEquals(uid, result.getFirebaseUid());
-        assertEquals(email, result.getEmail());
-        assertEquals("New", result.getNombre());
-        assertEquals("Firebase User", result.getApellido());
-        verify(userRepository, times(1)).findByFirebaseUid(uid);
-        verify(userRepository, times(1)).findByEmail(email);
-        verify(userRepository, times(1)).save(any(UserEntity.class));
+        verifyNoInteractions(notificacionEventService);
     }
 
     @Test
@@ -448,4 +569,22 @@ class UserServiceImplTest {
         assertFalse(result);
         verify(userRepository, times(1)).existsByEmail(testEmail);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findSummaries_ResolvesWithSingleQueryAndReportsMissing() {
+        // Arrange
+        UserSummary summary = new UserSummary(1L, testEmail, "Juan", "Pérez", RoleEnum.USER);
+        when(userSummaryCache.getAllById(Set.of(1L, 2L))).thenReturn(Map.of(1L, summary));
+        UserBatchRequest request = new UserBatchRequest(Arrays.asList(1L, 2L, 1L, null), List.of());
+
+        // Act
+        UserBatchResponse result = userService.findSummaries(request);
+
+        // Assert
+        assertEquals(summary, result.getUsersById().get(1L));
+        assertEquals(List.of(2L), result.getMissingIds());
+        assertTrue(result.getUsersByEmail().isEmpty());
+        verify(userSummaryCache, times(1)).getAllById(anyCollection());
+        verify(userSummaryCache, never()).getAllByEmail(anyCollection());
+    }
+}
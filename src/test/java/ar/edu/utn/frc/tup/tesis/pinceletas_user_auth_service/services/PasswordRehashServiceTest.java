@@ -0,0 +1,76 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordRehashServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private PasswordRehashService passwordRehashService;
+
+    @BeforeEach
+    void setUp() {
+        passwordRehashService = new PasswordRehashService(userRepository, passwordEncoder, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordRehashService.shutdown();
+    }
+
+    @Test
+    void rehashIfNeeded_HashWithTargetParameters_DoesNothing() {
+        // Arrange
+        when(passwordEncoder.upgradeEncoding("{bcrypt}hash")).thenReturn(false);
+
+        // Act
+        passwordRehashService.rehashIfNeeded("juan.perez@example.com", "{bcrypt}hash", "password123");
+
+        // Assert
+        verify(passwordEncoder, never()).encode(anyString());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void rehashIfNeeded_OutdatedHash_UpdatesInBackground() {
+        // Arrange
+        when(passwordEncoder.upgradeEncoding("legacy-hash")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("{bcrypt}new-hash");
+        when(userRepository.updatePasswordIfUnchanged("juan.perez@example.com", "legacy-hash", "{bcrypt}new-hash"))
+                .thenReturn(1);
+
+        // Act
+        passwordRehashService.rehashIfNeeded("juan.perez@example.com", "legacy-hash", "password123");
+
+        // Assert
+        verify(userRepository, timeout(2000).times(1))
+                .updatePasswordIfUnchanged("juan.perez@example.com", "legacy-hash", "{bcrypt}new-hash");
+    }
+
+    @Test
+    void rehash_EncoderRejected_DoesNotPropagate() {
+        // Arrange
+        when(passwordEncoder.encode("password123")).thenThrow(new RuntimeException("Pool saturado"));
+
+        // Act
+        passwordRehashService.rehash("juan.perez@example.com", "legacy-hash", "password123");
+
+        // Assert
+        verifyNoInteractions(userRepository);
+    }
+}
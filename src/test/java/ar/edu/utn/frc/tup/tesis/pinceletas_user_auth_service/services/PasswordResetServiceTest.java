@@ -34,6 +34,9 @@ class PasswordResetServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @InjectMocks
     private PasswordResetService passwordResetService;
 
@@ -189,6 +192,7 @@ class PasswordResetServiceTest {
         verify(passwordEncoder, times(1)).encode(newPassword);
         verify(userRepository, times(1)).save(any(UserEntity.class));
         verify(tokenRepository, times(1)).save(any(PasswordResetToken.class));
+        verify(refreshTokenService, times(1)).revokeAllForUser(userEntity.getId());
     }
 
     @Test
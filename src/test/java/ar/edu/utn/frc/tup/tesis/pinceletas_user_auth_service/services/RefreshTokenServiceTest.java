@@ -0,0 +1,148 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.model.RefreshToken;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.repository.RefreshTokenRepository;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.security.TokenDigests;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService refreshTokenService;
+
+    private RefreshToken storedToken;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, 14);
+        storedToken = RefreshToken.builder()
+                .id(10L)
+                .tokenHash(TokenDigests.sha256("refresh-token-123"))
+                .familyId("family-1")
+                .userId(1L)
+                .createdAt(LocalDateTime.now().minusDays(1))
+                .expiresAt(LocalDateTime.now().plusDays(13))
+                .used(false)
+                .revoked(false)
+                .build();
+    }
+
+    @Test
+    void issue_StoresOnlyTokenDigest() {
+        // Act
+        String rawToken = refreshTokenService.issue(1L);
+
+        // Assert
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository, times(1)).save(captor.capture());
+        RefreshToken saved = captor.getValue();
+        assertEquals(TokenDigests.sha256(rawToken), saved.getTokenHash());
+        assertNotEquals(rawToken, saved.getTokenHash());
+        assertEquals(1L, saved.getUserId());
+        assertNotNull(saved.getFamilyId());
+        assertTrue(saved.getExpiresAt().isAfter(LocalDateTime.now().plusDays(13)));
+    }
+
+    @Test
+    void rotate_ValidToken_IssuesNewTokenInSameFamily() {
+        // Arrange
+        when(refreshTokenRepository.findByTokenHash(storedToken.getTokenHash())).thenReturn(Optional.of(storedToken));
+        when(refreshTokenRepository.markUsed(10L)).thenReturn(1);
+
+        // Act
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("refresh-token-123");
+
+        // Assert
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository, times(1)).save(captor.capture());
+        assertEquals("family-1", captor.getValue().getFamilyId());
+        assertEquals(TokenDigests.sha256(rotation.refreshToken()), captor.getValue().getTokenHash());
+        assertEquals(1L, rotation.userId());
+        assertNotEquals("refresh-token-123", rotation.refreshToken());
+        verify(refreshTokenRepository, never()).revokeFamily(anyString());
+    }
+
+    @Test
+    void rotate_ReusedToken_RevokesFamily() {
+        // Arrange
+        storedToken.setUsed(true);
+        when(refreshTokenRepository.findByTokenHash(storedToken.getTokenHash())).thenReturn(Optional.of(storedToken));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> refreshTokenService.rotate("refresh-token-123"));
+        assertTrue(exception.getMessage().contains("reutilizado"));
+        verify(refreshTokenRepository, times(1)).revokeFamily("family-1");
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void rotate_ConcurrentRedemption_RevokesFamily() {
+        // Arrange
+        when(refreshTokenRepository.findByTokenHash(storedToken.getTokenHash())).thenReturn(Optional.of(storedToken));
+        when(refreshTokenRepository.markUsed(10L)).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> refreshTokenService.rotate("refresh-token-123"));
+        verify(refreshTokenRepository, times(1)).revokeFamily("family-1");
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void rotate_ExpiredToken_ThrowsException() {
+        // Arrange
+        storedToken.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenRepository.findByTokenHash(storedToken.getTokenHash())).thenReturn(Optional.of(storedToken));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> refreshTokenService.rotate("refresh-token-123"));
+        assertTrue(exception.getMessage().contains("expirado"));
+        verify(refreshTokenRepository, never()).markUsed(anyLong());
+    }
+
+    @Test
+    void rotate_UnknownToken_ThrowsException() {
+        // Arrange
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> refreshTokenService.rotate("desconocido"));
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void rotate_AfterRevokeAllForUser_Fails() {
+        // Arrange
+        when(refreshTokenRepository.findByTokenHash(storedToken.getTokenHash())).thenReturn(Optional.of(storedToken));
+        when(refreshTokenRepository.revokeAllForUser(1L)).thenAnswer(invocation -> {
+            storedToken.setRevoked(true);
+            return 1;
+        });
+
+        // Act
+        refreshTokenService.revokeAllForUser(1L);
+
+        // Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> refreshTokenService.rotate("refresh-token-123"));
+        assertEquals("Refresh token revocado", exception.getMessage());
+        verify(refreshTokenRepository, never()).markUsed(anyLong());
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+}
@@ -0,0 +1,136 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserActivityTrackerTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserActivityTracker userActivityTracker;
+
+    @BeforeEach
+    void setUp() {
+        userActivityTracker = new UserActivityTracker(userRepository, 5, 2);
+    }
+
+    @Test
+    void flush_CoalescesActivityInSingleBulkUpdate() {
+        // Arrange
+        LocalDateTime earlier = LocalDateTime.of(2024, 5, 1, 10, 0);
+        LocalDateTime later = earlier.plusMinutes(5);
+        userActivityTracker.recordActivity("juan.perez@example.com", later);
+        userActivityTracker.recordActivity("juan.perez@example.com", earlier);
+        userActivityTracker.recordActivity("maria.gomez@example.com", later);
+        when(userRepository.updateLastActivityAt(any(String[].class), any(LocalDateTime[].class))).thenReturn(2);
+
+        // Act
+        int updated = userActivityTracker.flush();
+
+        // Assert
+        Map<String, LocalDateTime> written = captureSingleUpdate();
+        assertEquals(Map.of("juan.perez@example.com", later, "maria.gomez@example.com", later), written);
+        assertEquals(2, updated);
+        assertEquals(0, userActivityTracker.pendingCount());
+    }
+
+    @Test
+    void flush_UsersWithDifferentActivity_EachKeepsOwnTimestamp() {
+        // Arrange
+        LocalDateTime idle = LocalDateTime.of(2024, 1, 10, 8, 0);
+        LocalDateTime active = LocalDateTime.of(2024, 5, 1, 10, 0);
+        userActivityTracker.recordActivity("juan.perez@example.com", idle);
+        userActivityTracker.recordActivity("maria.gomez@example.com", active);
+        when(userRepository.updateLastActivityAt(any(String[].class), any(LocalDateTime[].class))).thenReturn(2);
+
+        // Act
+        userActivityTracker.flush();
+
+        // Assert
+        Map<String, LocalDateTime> written = captureSingleUpdate();
+        assertEquals(idle, written.get("juan.perez@example.com"));
+        assertEquals(active, written.get("maria.gomez@example.com"));
+    }
+
+    /** Captura la única sentencia de actividad ejecutada y la devuelve como email -> fecha. */
+    private Map<String, LocalDateTime> captureSingleUpdate() {
+        ArgumentCaptor<String[]> emails = ArgumentCaptor.forClass(String[].class);
+        ArgumentCaptor<LocalDateTime[]> activityAts = ArgumentCaptor.forClass(LocalDateTime[].class);
+        verify(userRepository, times(1)).updateLastActivityAt(emails.capture(), activityAts.capture());
+        assertEquals(emails.getValue().length, activityAts.getValue().length);
+        Map<String, LocalDateTime> written = new HashMap<>();
+        for (int i = 0; i < emails.getValue().length; i++) {
+            written.put(emails.getValue()[i], activityAts.getValue()[i]);
+        }
+        return written;
+    }
+
+    @Test
+    void markActivity_RepeatedRequests_RecordsOncePerSampleWindow() {
+        // Act
+        for (int i = 0; i < 100; i++) {
+            userActivityTracker.markActivity("juan.perez@example.com");
+        }
+        userActivityTracker.markActivity("maria.gomez@example.com");
+
+        // Assert
+        assertEquals(2, userActivityTracker.pendingCount());
+    }
+
+    @Test
+    void flush_SplitsPendingActivityInBatches() {
+        // Arrange
+        userActivityTracker.recordActivity("a@example.com");
+        userActivityTracker.recordActivity("b@example.com");
+        userActivityTracker.recordActivity("c@example.com");
+        when(userRepository.updateLastActivityAt(any(String[].class), any(LocalDateTime[].class)))
+                .thenReturn(2, 1);
+
+        // Act
+        int updated = userActivityTracker.flush();
+
+        // Assert
+        assertEquals(3, updated);
+        verify(userRepository, times(2)).updateLastActivityAt(any(String[].class), any(LocalDateTime[].class));
+    }
+
+    @Test
+    void flush_NoPendingActivity_DoesNotHitDatabase() {
+        // Act
+        int updated = userActivityTracker.flush();
+
+        // Assert
+        assertEquals(0, updated);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void flush_RepositoryFails_RequeuesActivity() {
+        // Arrange
+        userActivityTracker.recordActivity("juan.perez@example.com");
+        when(userRepository.updateLastActivityAt(any(String[].class), any(LocalDateTime[].class)))
+                .thenThrow(new RuntimeException("Conexión rechazada"));
+
+        // Act
+        int updated = userActivityTracker.flush();
+
+        // Assert
+        assertEquals(0, updated);
+        assertEquals(1, userActivityTracker.pendingCount());
+    }
+}
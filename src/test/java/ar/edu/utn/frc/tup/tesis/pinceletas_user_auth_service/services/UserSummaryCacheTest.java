@@ -0,0 +1,108 @@
+package ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.services;
+
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.dto.user.UserSummary;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.enums.RoleEnum;
+import ar.edu.utn.frc.tup.tesis.pinceletas_user_auth_service.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserSummaryCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserSummaryCache userSummaryCache;
+    private UserSummary summary;
+
+    @BeforeEach
+    void setUp() {
+        userSummaryCache = new UserSummaryCache(userRepository, new SimpleMeterRegistry(), 100, 10);
+        summary = new UserSummary(1L, "juan.perez@example.com", "Juan", "Pérez", RoleEnum.USER);
+    }
+
+    @Test
+    void getByEmail_RepeatedLookup_QueriesDatabaseOnce() {
+        // Arrange
+        when(userRepository.findSummaryByEmail(summary.email())).thenReturn(Optional.of(summary));
+
+        // Act
+        Optional<UserSummary> first = userSummaryCache.getByEmail(summary.email());
+        Optional<UserSummary> second = userSummaryCache.getByEmail(summary.email());
+
+        // Assert
+        assertEquals(Optional.of(summary), first);
+        assertEquals(Optional.of(summary), second);
+        verify(userRepository, times(1)).findSummaryByEmail(summary.email());
+    }
+
+    @Test
+    void getById_MissingUser_IsNotCached() {
+        // Arrange
+        when(userRepository.findSummaryById(99L)).thenReturn(Optional.empty());
+
+        // Act
+        userSummaryCache.getById(99L);
+        Optional<UserSummary> result = userSummaryCache.getById(99L);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(userRepository, times(2)).findSummaryById(99L);
+    }
+
+    @Test
+    void evictByEmail_RemovesEntryIndexedById() {
+        // Arrange
+        when(userRepository.findSummaryById(1L)).thenReturn(Optional.of(summary));
+        userSummaryCache.getById(1L);
+
+        // Act
+        userSummaryCache.evictByEmail(summary.email());
+        userSummaryCache.getById(1L);
+
+        // Assert
+        verify(userRepository, times(2)).findSummaryById(1L);
+    }
+
+    @Test
+    void getByEmail_LoadedEntry_IsServedByIdWithoutQuery() {
+        // Arrange
+        when(userRepository.findSummaryByEmail(summary.email())).thenReturn(Optional.of(summary));
+        userSummaryCache.getByEmail(summary.email());
+
+        // Act
+        Optional<UserSummary> result = userSummaryCache.getById(1L);
+
+        // Assert
+        assertEquals(Optional.of(summary), result);
+        verify(userRepository, never()).findSummaryById(anyLong());
+    }
+
+    @Test
+    void getAllById_LoadsOnlyMissingIdsInSingleQuery() {
+        // Arrange
+        UserSummary other = new UserSummary(2L, "maria.gomez@example.com", "María", "Gómez", RoleEnum.USER);
+        when(userRepository.findSummaryById(1L)).thenReturn(Optional.of(summary));
+        when(userRepository.findSummariesByIdIn(anyCollection())).thenReturn(List.of(other));
+        userSummaryCache.getById(1L);
+
+        // Act
+        Map<Long, UserSummary> result = userSummaryCache.getAllById(List.of(1L, 2L, 3L));
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(other, result.get(2L));
+        verify(userRepository, times(1)).findSummariesByIdIn(anyCollection());
+    }
+}